@@ -0,0 +1,135 @@
+package object.java.collections.bench;
+
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import object.java.collections.List;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListBenchmark {
+
+	private static final int LOOKUPS = 1024;
+
+	@Param({"100", "10000", "1000000"})
+	int size;
+
+	Integer[] values;
+	int[] indices;
+	List<Integer> array;
+	List<Integer> vector;
+	java.util.List<Integer> arrayList;
+
+	@Setup
+	public void setup() {
+		values = new Integer[size];
+		for (int i = 0; i < size; i ++) {
+			values[i] = i;
+		}
+		final SplittableRandom random = new SplittableRandom(42);
+		indices = new int[LOOKUPS];
+		for (int i = 0; i < LOOKUPS; i ++) {
+			indices[i] = random.nextInt(size);
+		}
+		array = List.of(values);
+		vector = List.linkedList(values);
+		arrayList = new ArrayList<>(java.util.Arrays.asList(values));
+	}
+
+	@Benchmark
+	public List<Integer> constructArray() {
+		return List.of(values.clone());
+	}
+
+	@Benchmark
+	public List<Integer> constructVector() {
+		return List.linkedList(values);
+	}
+
+	@Benchmark
+	public List<Integer> constructEnqueue() {
+		List<Integer> queue = List.empty();
+		for (final Integer value : values) {
+			queue = List.enqueue(queue, value);
+		}
+		return queue;
+	}
+
+	@Benchmark
+	public java.util.List<Integer> constructArrayListBaseline() {
+		final java.util.List<Integer> list = new ArrayList<>();
+		for (final Integer value : values) {
+			list.add(value);
+		}
+		return list;
+	}
+
+	@Benchmark
+	public void forEachArray(final Blackhole bh) {
+		array.forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void forEachVector(final Blackhole bh) {
+		vector.forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void forEachArrayListBaseline(final Blackhole bh) {
+		arrayList.forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void rangeArray(final Blackhole bh) {
+		array.forEach(size / 4, size - size / 4, bh::consume);
+	}
+
+	@Benchmark
+	public void rangeVector(final Blackhole bh) {
+		vector.forEach(size / 4, size - size / 4, bh::consume);
+	}
+
+	@Benchmark
+	public void rangeArrayListBaseline(final Blackhole bh) {
+		arrayList.subList(size / 4, size - size / 4).forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void forIndexArray(final Blackhole bh) {
+		for (final int index : indices) {
+			array.forIndex(index, bh::consume);
+		}
+	}
+
+	@Benchmark
+	public void forIndexVector(final Blackhole bh) {
+		for (final int index : indices) {
+			vector.forIndex(index, bh::consume);
+		}
+	}
+
+	@Benchmark
+	public void getArrayListBaseline(final Blackhole bh) {
+		for (final int index : indices) {
+			bh.consume(arrayList.get(index));
+		}
+	}
+}
@@ -0,0 +1,101 @@
+package object.java.collections.bench;
+
+import java.util.HashMap;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import object.java.collections.Map;
+
+/**
+ * Lookups over a mix of half hits and half misses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapBenchmark {
+
+	private static final int LOOKUPS = 1024;
+
+	@Param({"100", "10000", "1000000"})
+	int size;
+
+	String[] keys;
+	String[] probes;
+	Map<String, Integer> hashed;
+	Map<String, Integer> trie;
+	java.util.Map<String, Integer> hashMap;
+
+	@Setup
+	public void setup() {
+		keys = new String[size];
+		final Integer[] values = new Integer[size];
+		hashMap = new HashMap<>();
+		for (int i = 0; i < size; i ++) {
+			keys[i] = "key-" + i;
+			values[i] = i;
+			hashMap.put(keys[i], i);
+		}
+		final SplittableRandom random = new SplittableRandom(42);
+		probes = new String[LOOKUPS];
+		for (int i = 0; i < LOOKUPS; i ++) {
+			probes[i] = "key-" + random.nextInt(size * 2);
+		}
+		hashed = Map.of(keys, values);
+		Map<String, Integer> trie = Map.empty();
+		for (int i = 0; i < size; i ++) {
+			trie = Map.put(trie, keys[i], values[i]);
+		}
+		this.trie = trie;
+	}
+
+	@Benchmark
+	public Map<String, Integer> constructHashed() {
+		return Map.of(keys, new Integer[keys.length]);
+	}
+
+	@Benchmark
+	public java.util.Map<String, Integer> constructHashMapBaseline() {
+		final java.util.Map<String, Integer> map = new HashMap<>();
+		for (final String key : keys) {
+			map.put(key, 0);
+		}
+		return map;
+	}
+
+	@Benchmark
+	public void forKeyHashed(final Blackhole bh) {
+		for (final String probe : probes) {
+			hashed.forKey(probe, bh::consume);
+		}
+	}
+
+	@Benchmark
+	public void forKeyTrie(final Blackhole bh) {
+		for (final String probe : probes) {
+			trie.forKey(probe, bh::consume);
+		}
+	}
+
+	@Benchmark
+	public void getHashMapBaseline(final Blackhole bh) {
+		for (final String probe : probes) {
+			bh.consume(hashMap.get(probe));
+		}
+	}
+}
@@ -0,0 +1,89 @@
+package object.java.collections.bench;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import object.java.collections.List;
+
+/**
+ * Scaling of {@code List.par} folds with the pool size, against a
+ * sequential fold and a parallel stream over the same pool.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParBenchmark {
+
+	@Param({"10000", "1000000"})
+	int size;
+
+	@Param({"1", "2", "4", "8"})
+	int threads;
+
+	ForkJoinPool pool;
+	List<Integer> array;
+	List<Integer> stack;
+	java.util.List<Integer> arrayList;
+
+	@Setup
+	public void setup() {
+		final Integer[] values = new Integer[size];
+		for (int i = 0; i < size; i ++) {
+			values[i] = i;
+		}
+		pool = new ForkJoinPool(threads);
+		array = List.of(values);
+		List<Integer> stack = List.empty();
+		for (int i = size - 1; i >= 0; i --) {
+			stack = List.push(values[i], stack);
+		}
+		this.stack = stack;
+		arrayList = java.util.Arrays.asList(values);
+	}
+
+	@TearDown
+	public void tearDown() {
+		pool.shutdown();
+	}
+
+	private static long work(final long sum, final int value) {
+		return sum + Long.hashCode(value * 0x9E3779B97F4A7C15L);
+	}
+
+	@Benchmark
+	public void sequential(final Blackhole bh) {
+		array.fold(0L, (s, i) -> work(s, i), Long::sum, bh::consume);
+	}
+
+	@Benchmark
+	public void parSplittable(final Blackhole bh) {
+		List.par(array, pool).fold(0L, (s, i) -> work(s, i), Long::sum, bh::consume);
+	}
+
+	@Benchmark
+	public void parBatched(final Blackhole bh) {
+		List.par(stack, pool).fold(0L, (s, i) -> work(s, i), Long::sum, bh::consume);
+	}
+
+	@Benchmark
+	public long parallelStreamBaseline() throws Exception {
+		return pool.submit(() -> arrayList.parallelStream().mapToLong(i -> work(0, i)).sum()).get();
+	}
+}
@@ -0,0 +1,90 @@
+package object.java.collections.bench;
+
+import java.util.HashSet;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import object.java.collections.Set;
+
+/**
+ * Lookups over a mix of half hits and half misses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SetBenchmark {
+
+	private static final int LOOKUPS = 1024;
+
+	@Param({"100", "10000", "1000000"})
+	int size;
+
+	Integer[] probes;
+	Set<Integer> hashed;
+	Set<Integer> guarded;
+	Set<Integer> bitmap;
+	java.util.Set<Integer> hashSet;
+
+	@Setup
+	public void setup() {
+		final Integer[] values = new Integer[size];
+		final int[] ints = new int[size];
+		for (int i = 0; i < size; i ++) {
+			values[i] = i * 2;
+			ints[i] = i * 2;
+		}
+		final SplittableRandom random = new SplittableRandom(42);
+		probes = new Integer[LOOKUPS];
+		for (int i = 0; i < LOOKUPS; i ++) {
+			probes[i] = random.nextInt(size * 2);
+		}
+		hashed = Set.of(values);
+		guarded = Set.guarded(0.01, values);
+		bitmap = Set.bitmap(ints);
+		hashSet = new HashSet<>(java.util.Arrays.asList(values));
+	}
+
+	@Benchmark
+	public void containsHashed(final Blackhole bh) {
+		for (final Integer probe : probes) {
+			hashed.contains(probe, bh::consume);
+		}
+	}
+
+	@Benchmark
+	public void containsGuarded(final Blackhole bh) {
+		for (final Integer probe : probes) {
+			guarded.contains(probe, bh::consume);
+		}
+	}
+
+	@Benchmark
+	public void containsBitmap(final Blackhole bh) {
+		for (final Integer probe : probes) {
+			bitmap.contains(probe, bh::consume);
+		}
+	}
+
+	@Benchmark
+	public void containsHashSetBaseline(final Blackhole bh) {
+		for (final Integer probe : probes) {
+			bh.consume(hashSet.contains(probe));
+		}
+	}
+}
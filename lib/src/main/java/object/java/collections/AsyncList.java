@@ -0,0 +1,227 @@
+package object.java.collections;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+public interface AsyncList<T> {
+
+	CompletableFuture<Void> forEach (final Consumer<T> action);
+
+	CompletableFuture<Void> forEach (final int start, final int end, final Consumer<T> action) throws IndexOutOfBoundsException;
+
+	CompletableFuture<Void> forIndex (final int index, final Consumer<T> action) throws IndexOutOfBoundsException;
+
+	int size ();
+
+	/**
+	 * Chunked traversal that never blocks the caller. At most
+	 * {@code maxInFlight} chunks are submitted at a time; each completed chunk
+	 * submits the next one, and the first failure completes the returned
+	 * future exceptionally and stops further submissions, as does an executor
+	 * rejecting a chunk. Lists that are not splittable are walked once by a
+	 * single task that hands out bounded slices.
+	 */
+	final static class Par<T> implements AsyncList<T> {
+
+		private static final int CHUNKS_PER_SLOT = 4;
+		private static final int SLICE = 1 << 10;
+
+		private final List<T> list;
+		private final Executor executor;
+		private final int maxInFlight;
+
+		Par (final List<T> list, final Executor executor, final int maxInFlight) {
+			this.list = list;
+			this.executor = executor;
+			this.maxInFlight = maxInFlight;
+		}
+
+		@Override
+		public CompletableFuture<Void> forEach(final Consumer<T> action) {
+			if (list.size() == 0) {
+				return CompletableFuture.completedFuture(null);
+			}
+			return traverse(0, list.size(), action);
+		}
+
+		@Override
+		public CompletableFuture<Void> forEach(final int start, final int end, final Consumer<T> action) throws IndexOutOfBoundsException {
+			if ((start < 0 || start >= list.size()) ||
+				(end <= 0 || end > list.size()) ||
+				(start >= end)) {
+				throw new IndexOutOfBoundsException("index out of range.");
+			}
+			return traverse(start, end, action);
+		}
+
+		@Override
+		public CompletableFuture<Void> forIndex(final int index, final Consumer<T> action) throws IndexOutOfBoundsException {
+			if (index < 0 || index >= list.size()) {
+				throw new IndexOutOfBoundsException("index out of range");
+			}
+			return CompletableFuture.runAsync(() -> list.forIndex(index, action), executor);
+		}
+
+		@Override
+		public int size() {
+			return list.size();
+		}
+
+		private CompletableFuture<Void> traverse(final int start, final int end, final Consumer<T> action) {
+			if (list.splittable()) {
+				return new Run<>(list, start, end, action).start();
+			}
+			return new Feed(start, end, action).start();
+		}
+
+		/**
+		 * Traversal of a list that is not splittable: one task walks the
+		 * range sequentially, cutting it into slices of at most
+		 * {@link #SLICE} elements and submitting each as a chunk. When
+		 * {@code maxInFlight} chunks are already submitted the walking task
+		 * runs the slice itself, so at most {@code maxInFlight + 1} slices
+		 * are held at a time and no thread ever waits.
+		 */
+		private final class Feed {
+
+			private final int start;
+			private final int end;
+			private final Consumer<T> action;
+			private final AtomicInteger inFlight = new AtomicInteger();
+			private final AtomicInteger pending = new AtomicInteger(1);
+			private final CompletableFuture<Void> done = new CompletableFuture<>();
+			private java.lang.Object[] slice;
+			private int filled;
+
+			Feed (final int start, final int end, final Consumer<T> action) {
+				this.start = start;
+				this.end = end;
+				this.action = action;
+				this.slice = new java.lang.Object[Math.min(SLICE, end - start)];
+			}
+
+			CompletableFuture<Void> start() {
+				final CompletableFuture<Void> walk;
+				try {
+					walk = CompletableFuture.runAsync(() -> {
+						list.forEach(start, end, t -> {
+							slice[filled ++] = t;
+							if (filled == slice.length) {
+								dispatch(slice, filled);
+								slice = new java.lang.Object[slice.length];
+								filled = 0;
+							}
+						});
+						if (filled > 0) {
+							dispatch(slice, filled);
+						}
+					}, executor);
+				} catch (RejectedExecutionException e) {
+					done.completeExceptionally(e);
+					return done;
+				}
+				walk.whenComplete((ignored, e) -> finish(e));
+				return done;
+			}
+
+			private void dispatch(final java.lang.Object[] values, final int n) {
+				if (done.isDone()) {
+					return;
+				}
+				if (inFlight.incrementAndGet() > maxInFlight) {
+					inFlight.decrementAndGet();
+					run(values, n);
+					return;
+				}
+				pending.incrementAndGet();
+				final CompletableFuture<Void> task;
+				try {
+					task = CompletableFuture.runAsync(() -> run(values, n), executor);
+				} catch (RejectedExecutionException e) {
+					inFlight.decrementAndGet();
+					finish(e);
+					return;
+				}
+				task.whenComplete((ignored, e) -> {
+					inFlight.decrementAndGet();
+					finish(e);
+				});
+			}
+
+			@SuppressWarnings("unchecked")
+			private void run(final java.lang.Object[] values, final int n) {
+				for (int i = 0; i < n; i ++) {
+					action.accept((T) values[i]);
+				}
+			}
+
+			private void finish(final Throwable e) {
+				if (e != null) {
+					done.completeExceptionally(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+				}
+				if (pending.decrementAndGet() == 0) {
+					done.complete(null);
+				}
+			}
+		}
+
+		private final class Run<E> {
+
+			private final List<E> source;
+			private final int start;
+			private final int end;
+			private final int chunk;
+			private final int chunks;
+			private final Consumer<E> action;
+			private final AtomicInteger next = new AtomicInteger();
+			private final AtomicInteger remaining;
+			private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+			Run (final List<E> source, final int start, final int end, final Consumer<E> action) {
+				this.source = source;
+				this.start = start;
+				this.end = end;
+				this.action = action;
+				this.chunk = Math.max(1, (end - start) / (maxInFlight * CHUNKS_PER_SLOT));
+				this.chunks = (end - start + chunk - 1) / chunk;
+				this.remaining = new AtomicInteger(chunks);
+			}
+
+			CompletableFuture<Void> start() {
+				for (int i = 0; i < Math.min(maxInFlight, chunks); i ++) {
+					launch();
+				}
+				return done;
+			}
+
+			private void launch() {
+				final int index = next.getAndIncrement();
+				if (index >= chunks || done.isDone()) {
+					return;
+				}
+				final int lo = start + index * chunk;
+				final int hi = Math.min(end, lo + chunk);
+				final CompletableFuture<Void> task;
+				try {
+					task = CompletableFuture.runAsync(() -> source.forEach(lo, hi, action), executor);
+				} catch (RejectedExecutionException e) {
+					done.completeExceptionally(e);
+					return;
+				}
+				task.whenComplete((ignored, e) -> {
+					if (e != null) {
+						done.completeExceptionally(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+					} else if (remaining.decrementAndGet() == 0) {
+						done.complete(null);
+					} else {
+						launch();
+					}
+				});
+			}
+		}
+	}
+}
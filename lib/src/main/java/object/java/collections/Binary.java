@@ -0,0 +1,560 @@
+package object.java.collections;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Compact, versioned binary snapshots of lists, sets and maps.
+ *
+ * A snapshot is an 8 byte header (magic, version, kind), the elements in
+ * traversal order, a trailer and a 16 byte footer (count, trailer offset,
+ * trailer parameter, magic). Every element is its encoded length as an
+ * unsigned varint followed by the {@link Codec} bytes, except that strings
+ * are stored as bare UTF-8 bytes since the frame already carries their
+ * length; a map entry is the key followed by the value, both framed that
+ * way. The list trailer is a sparse index holding the offset of every
+ * {@value #STRIDE}th element; the set and map trailer is an open
+ * addressing table of (hash, offset + 1) int pairs.
+ *
+ * Writers stream elements to a channel through a small fixed buffer, so a
+ * {@code forEach} traversal can be encoded as it happens; sets and maps
+ * keep 8 bytes per entry for their lookup table. Readers wrap a buffer and
+ * decode elements only when they are visited.
+ */
+public final class Binary {
+
+	static final int MAGIC = 0x4F4A4342;
+	static final byte VERSION = 2;
+	static final int STRIDE = 64;
+
+	private static final byte LIST = 1;
+	private static final byte SET = 2;
+	private static final byte MAP = 3;
+	private static final int HEADER_BYTES = 8;
+	private static final int FOOTER_BYTES = 16;
+	private static final int BUFFER_BYTES = 1 << 16;
+
+	private Binary () {}
+
+	public static <T> Writer<T> listWriter (final Codec<T> codec, final WritableByteChannel channel) {
+		return new Writer<>(codec, channel, LIST);
+	}
+
+	/**
+	 * Writer for a set; the values added must be distinct.
+	 */
+	public static <T> Writer<T> setWriter (final Codec<T> codec, final WritableByteChannel channel) {
+		return new Writer<>(codec, channel, SET);
+	}
+
+	/**
+	 * Writer for a map; the keys added must be distinct.
+	 */
+	public static <K,V> MapWriter<K,V> mapWriter (final Codec<K> keys, final Codec<V> values, final WritableByteChannel channel) {
+		return new MapWriter<>(keys, values, channel);
+	}
+
+	public static <T> void write (final Codec<T> codec, final List<T> list, final WritableByteChannel channel) throws IOException {
+		final Writer<T> writer = listWriter(codec, channel);
+		try {
+			list.forEach(writer::add);
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		writer.finish();
+	}
+
+	public static <T> void write (final Codec<T> codec, final Set<T> set, final WritableByteChannel channel) throws IOException {
+		final Writer<T> writer = setWriter(codec, channel);
+		try {
+			set.forEach(writer::add);
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		writer.finish();
+	}
+
+	public static <K,V> void write (final Codec<K> keys, final Codec<V> values, final Map<K,V> map, final WritableByteChannel channel) throws IOException {
+		final MapWriter<K,V> writer = mapWriter(keys, values, channel);
+		try {
+			map.forEach(writer::add);
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		writer.finish();
+	}
+
+	public static <T> List<T> list (final Codec<T> codec, final ByteBuffer buffer) {
+		return new ListReader<>(codec, new Frame(buffer, LIST));
+	}
+
+	public static <T> Set<T> set (final Codec<T> codec, final ByteBuffer buffer) {
+		return new SetReader<>(codec, new Frame(buffer, SET));
+	}
+
+	public static <K,V> Map<K,V> map (final Codec<K> keys, final Codec<V> values, final ByteBuffer buffer) {
+		return new MapReader<>(keys, values, new Frame(buffer, MAP));
+	}
+
+	/**
+	 * Buffered channel output that tracks absolute positions and frames
+	 * encoded values.
+	 */
+	static class Output {
+
+		private final WritableByteChannel channel;
+		private ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+		private long position;
+		private boolean finished;
+
+		Output (final WritableByteChannel channel, final byte kind) {
+			this.channel = channel;
+			buffer.putInt(MAGIC).put(VERSION).put(kind).putShort((short) 0);
+			position = HEADER_BYTES;
+		}
+
+		int position() {
+			if (position > Integer.MAX_VALUE - FOOTER_BYTES) {
+				throw new IllegalStateException("snapshot larger than 2 GiB");
+			}
+			return (int) position;
+		}
+
+		<T> void frame(final Codec<T> codec, final T value) {
+			if (codec == Codec.Strings.INST) {
+				final byte[] bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+				reserve(5 + bytes.length);
+				final int start = buffer.position();
+				length(bytes.length);
+				buffer.put(bytes);
+				position += buffer.position() - start;
+				return;
+			}
+			final int bytes = codec.sizeOf(value);
+			reserve(5 + bytes);
+			final int start = buffer.position();
+			length(bytes);
+			codec.encode(value, buffer, buffer.position());
+			buffer.position(buffer.position() + bytes);
+			position += buffer.position() - start;
+		}
+
+		private void length(final int bytes) {
+			int length = bytes;
+			while ((length & ~0x7F) != 0) {
+				buffer.put((byte) ((length & 0x7F) | 0x80));
+				length >>>= 7;
+			}
+			buffer.put((byte) length);
+		}
+
+		void putInt(final int value) {
+			reserve(Integer.BYTES);
+			buffer.putInt(value);
+			position += Integer.BYTES;
+		}
+
+		void finish(final int count, final int trailer, final int parameter) throws IOException {
+			if (finished) {
+				throw new IllegalStateException("writer already finished");
+			}
+			try {
+				putInt(count);
+				putInt(trailer);
+				putInt(parameter);
+				putInt(MAGIC);
+				flush();
+			} catch (UncheckedIOException e) {
+				throw e.getCause();
+			}
+			finished = true;
+		}
+
+		private void reserve(final int bytes) {
+			if (finished) {
+				throw new IllegalStateException("writer already finished");
+			}
+			if (buffer.remaining() < bytes) {
+				try {
+					flush();
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+				if (buffer.capacity() < bytes) {
+					buffer = ByteBuffer.allocate(bytes);
+				}
+			}
+		}
+
+		private void flush() throws IOException {
+			buffer.flip();
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			buffer.clear();
+		}
+	}
+
+	public static final class Writer<T> extends Output {
+
+		private final Codec<T> codec;
+		private final byte kind;
+		private int count;
+		private int[] index = new int[16];
+
+		Writer (final Codec<T> codec, final WritableByteChannel channel, final byte kind) {
+			super(channel, kind);
+			this.codec = codec;
+			this.kind = kind;
+		}
+
+		/**
+		 * Appends a value; channel failures surface as
+		 * {@link UncheckedIOException} so this can be passed to forEach.
+		 */
+		public void add(final T value) {
+			final int offset = position();
+			if (kind == LIST) {
+				if (count % STRIDE == 0) {
+					record(count / STRIDE, offset, 0);
+				}
+			} else {
+				record(count, Map.Hashed.hash(value), offset);
+			}
+			frame(codec, value);
+			count ++;
+		}
+
+		private void record(final int i, final int first, final int second) {
+			if (2 * i + 1 >= index.length) {
+				index = Arrays.copyOf(index, index.length * 2);
+			}
+			index[2 * i] = first;
+			index[2 * i + 1] = second;
+		}
+
+		/**
+		 * Writes the trailer and footer and flushes; the channel is left open.
+		 */
+		public void finish() throws IOException {
+			final int trailer = position();
+			if (kind == LIST) {
+				final int entries = (count + STRIDE - 1) / STRIDE;
+				for (int i = 0; i < entries; i ++) {
+					putInt(index[2 * i]);
+				}
+				finish(count, trailer, STRIDE);
+			} else {
+				finish(count, trailer, table(this, index, count));
+			}
+		}
+	}
+
+	public static final class MapWriter<K,V> extends Output {
+
+		private final Codec<K> keys;
+		private final Codec<V> values;
+		private int count;
+		private int[] index = new int[16];
+
+		MapWriter (final Codec<K> keys, final Codec<V> values, final WritableByteChannel channel) {
+			super(channel, MAP);
+			this.keys = keys;
+			this.values = values;
+		}
+
+		/**
+		 * Appends an entry; channel failures surface as
+		 * {@link UncheckedIOException} so this can be passed to forEach.
+		 */
+		public void add(final K key, final V value) {
+			if (2 * count + 1 >= index.length) {
+				index = Arrays.copyOf(index, index.length * 2);
+			}
+			index[2 * count] = Map.Hashed.hash(key);
+			index[2 * count + 1] = position();
+			frame(keys, key);
+			frame(values, value);
+			count ++;
+		}
+
+		/**
+		 * Writes the trailer and footer and flushes; the channel is left open.
+		 */
+		public void finish() throws IOException {
+			final int trailer = position();
+			finish(count, trailer, table(this, index, count));
+		}
+	}
+
+	/**
+	 * Writes the (hash, offset + 1) table for {@code count} entries held as
+	 * pairs in {@code index} and returns its slot count.
+	 */
+	private static int table(final Output output, final int[] index, final int count) {
+		int slots = 2;
+		while (slots * Map.Hashed.LOAD_FACTOR < count) {
+			slots <<= 1;
+		}
+		final int mask = slots - 1;
+		final int[] table = new int[2 * slots];
+		for (int i = 0; i < count; i ++) {
+			int slot = index[2 * i] & mask;
+			while (table[2 * slot + 1] != 0) {
+				slot = (slot + 1) & mask;
+			}
+			table[2 * slot] = index[2 * i];
+			table[2 * slot + 1] = index[2 * i + 1] + 1;
+		}
+		for (final int value : table) {
+			output.putInt(value);
+		}
+		return slots;
+	}
+
+	/**
+	 * Validated view of a snapshot in a buffer. Positions are relative to
+	 * the buffer's position when it was wrapped.
+	 */
+	final static class Frame {
+
+		final ByteBuffer buffer;
+		final int count;
+		final int trailer;
+		final int parameter;
+
+		Frame (final ByteBuffer source, final byte kind) {
+			this.buffer = source.slice();
+			final int limit = buffer.limit();
+			if (limit < HEADER_BYTES + FOOTER_BYTES
+					|| buffer.getInt(0) != MAGIC
+					|| buffer.getInt(limit - Integer.BYTES) != MAGIC) {
+				throw new IllegalArgumentException("not a collection snapshot");
+			}
+			if (buffer.get(4) != VERSION) {
+				throw new IllegalArgumentException("unsupported snapshot version " + buffer.get(4));
+			}
+			if (buffer.get(5) != kind) {
+				throw new IllegalArgumentException("snapshot holds a different kind of collection");
+			}
+			this.count = buffer.getInt(limit - FOOTER_BYTES);
+			this.trailer = buffer.getInt(limit - FOOTER_BYTES + Integer.BYTES);
+			this.parameter = buffer.getInt(limit - FOOTER_BYTES + 2 * Integer.BYTES);
+		}
+
+		/**
+		 * Length of the framed value at {@code offset}, packed with the
+		 * offset of its payload as {@code (payload << 32) | length}.
+		 */
+		long frame(final int offset) {
+			int length = 0;
+			int shift = 0;
+			int at = offset;
+			byte b;
+			do {
+				b = buffer.get(at ++);
+				length |= (b & 0x7F) << shift;
+				shift += 7;
+			} while (b < 0);
+			return ((long) at << 32) | length;
+		}
+
+		@SuppressWarnings("unchecked")
+		<T> T decode(final Codec<T> codec, final long frame) {
+			final int payload = (int) (frame >>> 32);
+			if (codec == Codec.Strings.INST) {
+				final int length = (int) frame;
+				if (buffer.hasArray()) {
+					return (T) new String(buffer.array(), buffer.arrayOffset() + payload, length, StandardCharsets.UTF_8);
+				}
+				final byte[] bytes = new byte[length];
+				final ByteBuffer source = buffer.duplicate();
+				source.position(payload);
+				source.get(bytes);
+				return (T) new String(bytes, StandardCharsets.UTF_8);
+			}
+			return codec.decode(buffer, payload);
+		}
+
+		int next(final long frame) {
+			return (int) (frame >>> 32) + (int) frame;
+		}
+	}
+
+	final static class ListReader<T> implements List<T> {
+
+		private final Codec<T> codec;
+		private final Frame frame;
+
+		ListReader (final Codec<T> codec, final Frame frame) {
+			this.codec = codec;
+			this.frame = frame;
+		}
+
+		private int offset(final int index) {
+			int offset = frame.buffer.getInt(frame.trailer + (index / frame.parameter) * Integer.BYTES);
+			for (int i = index % frame.parameter; i > 0; i --) {
+				offset = frame.next(frame.frame(offset));
+			}
+			return offset;
+		}
+
+		private void traverse(final int start, final int end, final Consumer<T> action) {
+			int offset = offset(start);
+			for (int i = start; i < end; i ++) {
+				final long f = frame.frame(offset);
+				action.accept(frame.decode(codec, f));
+				offset = frame.next(f);
+			}
+		}
+
+		@Override
+		public void forEach(final Consumer<T> action) {
+			if (frame.count > 0) {
+				traverse(0, frame.count, action);
+			}
+		}
+
+		@Override
+		public void forEach(final int start, final int end, final Consumer<T> action) throws IndexOutOfBoundsException {
+			if ((start < 0 || start >= frame.count) ||
+				(end <= 0 || end > frame.count) ||
+				(start >= end)) {
+				throw new IndexOutOfBoundsException("index out of range.");
+			}
+			traverse(start, end, action);
+		}
+
+		@Override
+		public void forIndex(final int index, final Consumer<T> action) throws IndexOutOfBoundsException {
+			if (index < 0 || index >= frame.count) {
+				throw new IndexOutOfBoundsException("index out of range");
+			}
+			action.accept(frame.decode(codec, frame.frame(offset(index))));
+		}
+
+		@Override
+		public int size() {
+			return frame.count;
+		}
+
+		@Override
+		public boolean splittable() {
+			return true;
+		}
+	}
+
+	final static class SetReader<T> implements Set<T> {
+
+		private final Codec<T> codec;
+		private final Frame frame;
+
+		SetReader (final Codec<T> codec, final Frame frame) {
+			this.codec = codec;
+			this.frame = frame;
+		}
+
+		@Override
+		public void contains(final T value, final Consumer<Boolean> fn) {
+			final int hash = Map.Hashed.hash(value);
+			final int mask = frame.parameter - 1;
+			for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+				final int entry = frame.trailer + slot * 2 * Integer.BYTES;
+				final int offset = frame.buffer.getInt(entry + Integer.BYTES) - 1;
+				if (offset < 0) {
+					fn.accept(false);
+					return;
+				}
+				if (frame.buffer.getInt(entry) == hash && value.equals(frame.decode(codec, frame.frame(offset)))) {
+					fn.accept(true);
+					return;
+				}
+			}
+		}
+
+		@Override
+		public void forEach(final Consumer<T> action) {
+			int offset = HEADER_BYTES;
+			for (int i = 0; i < frame.count; i ++) {
+				final long f = frame.frame(offset);
+				action.accept(frame.decode(codec, f));
+				offset = frame.next(f);
+			}
+		}
+
+		@Override
+		public int size() {
+			return frame.count;
+		}
+	}
+
+	final static class MapReader<K,V> implements Map<K,V> {
+
+		private final Codec<K> keys;
+		private final Codec<V> values;
+		private final Frame frame;
+
+		MapReader (final Codec<K> keys, final Codec<V> values, final Frame frame) {
+			this.keys = keys;
+			this.values = values;
+			this.frame = frame;
+		}
+
+		@Override
+		public void forEach(final BiConsumer<K, V> action) {
+			int offset = HEADER_BYTES;
+			for (int i = 0; i < frame.count; i ++) {
+				final long key = frame.frame(offset);
+				final long value = frame.frame(frame.next(key));
+				action.accept(frame.decode(keys, key), frame.decode(values, value));
+				offset = frame.next(value);
+			}
+		}
+
+		@Override
+		public void forEachKey(final Consumer<K> action) {
+			int offset = HEADER_BYTES;
+			for (int i = 0; i < frame.count; i ++) {
+				final long key = frame.frame(offset);
+				action.accept(frame.decode(keys, key));
+				offset = frame.next(frame.frame(frame.next(key)));
+			}
+		}
+
+		@Override
+		public void forEachValue(final Consumer<V> action) {
+			int offset = HEADER_BYTES;
+			for (int i = 0; i < frame.count; i ++) {
+				final long value = frame.frame(frame.next(frame.frame(offset)));
+				action.accept(frame.decode(values, value));
+				offset = frame.next(value);
+			}
+		}
+
+		@Override
+		public void forKey(final K key, final Consumer<V> action) {
+			final int hash = Map.Hashed.hash(key);
+			final int mask = frame.parameter - 1;
+			for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+				final int entry = frame.trailer + slot * 2 * Integer.BYTES;
+				final int offset = frame.buffer.getInt(entry + Integer.BYTES) - 1;
+				if (offset < 0) {
+					return;
+				}
+				if (frame.buffer.getInt(entry) == hash) {
+					final long k = frame.frame(offset);
+					if (key.equals(frame.decode(keys, k))) {
+						action.accept(frame.decode(values, frame.frame(frame.next(k))));
+						return;
+					}
+				}
+			}
+		}
+	}
+}
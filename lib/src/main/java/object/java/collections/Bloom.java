@@ -0,0 +1,138 @@
+package object.java.collections;
+
+public interface Bloom {
+
+	boolean mightContain (final int hash);
+
+	double falsePositiveRate ();
+
+	static Bloom blocked (final int[] hashes, final int n, final double fpp) {
+		if (!(fpp > 0 && fpp < 1)) {
+			throw new IllegalArgumentException("false positive rate must be in (0, 1)");
+		}
+		return new Blocked(hashes, n, fpp);
+	}
+
+	/**
+	 * Blocked Bloom filter. Each key selects one 512 bit block, a single
+	 * cache line of eight longs, and sets its k bits inside that block, so a
+	 * lookup touches exactly one line. The bits are the top nine bits of
+	 * successive steps of a 64 bit linear congruential generator seeded by
+	 * the key, which keeps the bit patterns of different keys independent.
+	 * Keys are the already spread 32 bit hashes the collections compute for
+	 * their own tables.
+	 *
+	 * Keys do not spread evenly over blocks, so the filter is sized from the
+	 * expected rate of the blocked layout rather than the standard formula,
+	 * adding blocks until the requested rate is met.
+	 */
+	final static class Blocked implements Bloom {
+
+		private static final int BLOCK_WORDS = 8;
+		private static final int BLOCK_BITS = BLOCK_WORDS * Long.SIZE;
+		private static final int MAX_BLOCKS = Integer.MAX_VALUE / BLOCK_WORDS;
+		private static final int BIT_SHIFT = Long.SIZE - Integer.numberOfTrailingZeros(BLOCK_BITS);
+		private static final long STEP_MULTIPLIER = 0x5851F42D4C957F2DL;
+		private static final long STEP_INCREMENT = 0x14057B7EF767814FL;
+
+		private final long[] words;
+		private final int blocks;
+		private final int k;
+		private final double falsePositiveRate;
+
+		Blocked (final int[] hashes, final int n, final double fpp) {
+			final double ln2 = Math.log(2);
+			final long bits = Math.max(BLOCK_BITS, (long) Math.ceil(-Math.max(n, 1) * Math.log(fpp) / (ln2 * ln2)));
+			int blocks = (int) Math.min(MAX_BLOCKS, (bits + BLOCK_BITS - 1) / BLOCK_BITS);
+			int k = bestK(n, blocks);
+			while (expectedRate(n, blocks, k) > fpp && blocks < MAX_BLOCKS) {
+				blocks = Math.min(MAX_BLOCKS, blocks + Math.max(1, blocks / 64));
+				k = bestK(n, blocks);
+			}
+			this.blocks = blocks;
+			this.k = k;
+			this.words = new long[blocks * BLOCK_WORDS];
+			for (int i = 0; i < n; i ++) {
+				add(hashes[i]);
+			}
+			this.falsePositiveRate = expectedRate(n, blocks, k);
+		}
+
+		/**
+		 * Number of bits per key minimizing the expected rate, searched
+		 * around the optimum of a standard filter of the same size.
+		 */
+		private static int bestK(final int n, final int blocks) {
+			final int standard = Math.max(1, (int) Math.round((double) blocks * BLOCK_BITS / Math.max(n, 1) * Math.log(2)));
+			int best = standard;
+			double bestRate = expectedRate(n, blocks, standard);
+			for (int k = Math.max(1, standard - 3); k <= Math.min(BLOCK_BITS, standard + 3); k ++) {
+				final double rate = expectedRate(n, blocks, k);
+				if (rate < bestRate) {
+					best = k;
+					bestRate = rate;
+				}
+			}
+			return best;
+		}
+
+		/**
+		 * Expected false positive rate of {@code n} keys spread over
+		 * {@code blocks} blocks. Block loads are Poisson with mean
+		 * {@code n / blocks}; a block holding j keys answers a miss positively
+		 * with probability {@code (1 - (1 - 1/512)^(k j))^k}. Overloaded
+		 * blocks dominate, which is why this is higher than the standard
+		 * filter formula.
+		 */
+		static double expectedRate(final int n, final int blocks, final int k) {
+			final double mean = (double) n / blocks;
+			final double keep = k * Math.log1p(-1.0 / BLOCK_BITS);
+			final long last = (long) Math.ceil(mean + 12 * Math.sqrt(mean) + 12);
+			double logWeight = -mean;
+			double rate = 0;
+			for (long j = 0; j <= last; j ++) {
+				if (j > 0) {
+					logWeight += Math.log(mean / j);
+				}
+				rate += Math.exp(logWeight) * Math.pow(-Math.expm1(j * keep), k);
+			}
+			return Math.min(1, rate);
+		}
+
+		private static long mix(final int hash) {
+			long x = hash * 0x9E3779B97F4A7C15L;
+			x ^= x >>> 29;
+			x *= 0xBF58476D1CE4E5B9L;
+			return x ^ (x >>> 32);
+		}
+
+		private void add(final int hash) {
+			long x = mix(hash);
+			final int base = (int) (((x >>> 32) * blocks) >>> 32) * BLOCK_WORDS;
+			for (int i = 0; i < k; i ++) {
+				x = x * STEP_MULTIPLIER + STEP_INCREMENT;
+				final int bit = (int) (x >>> BIT_SHIFT);
+				words[base + (bit >>> 6)] |= 1L << bit;
+			}
+		}
+
+		@Override
+		public boolean mightContain(final int hash) {
+			long x = mix(hash);
+			final int base = (int) (((x >>> 32) * blocks) >>> 32) * BLOCK_WORDS;
+			for (int i = 0; i < k; i ++) {
+				x = x * STEP_MULTIPLIER + STEP_INCREMENT;
+				final int bit = (int) (x >>> BIT_SHIFT);
+				if ((words[base + (bit >>> 6)] & (1L << bit)) == 0) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public double falsePositiveRate() {
+			return falsePositiveRate;
+		}
+	}
+}
@@ -0,0 +1,551 @@
+package object.java.collections;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * Bounded cache with LRU or W-TinyLFU eviction and optional expiry.
+ *
+ * Entries live in a concurrent hash table, so reads never lock: a read
+ * looks the entry up, checks expiry and records the access in a small lossy
+ * {@link RingBuffer}. Writes, and readers that find the buffer full, take
+ * the eviction lock and replay the buffered accesses into the policy.
+ *
+ * LRU keeps one access ordered queue. W-TinyLFU admits new entries through
+ * a small LRU window; an entry leaving the window only displaces the
+ * eldest entry of the main segmented LRU when a count-min sketch says it is
+ * used more often. Expiry is checked on every read and expired entries are
+ * removed during maintenance. The eviction listener runs on the thread
+ * performing maintenance while it holds the lock, so it should be quick.
+ */
+public final class Cache<K,V> implements MutableMap<K,V> {
+
+	public static enum Policy {
+		LRU,
+		TINY_LFU
+	}
+
+	public static enum Cause {
+		SIZE,
+		EXPIRED,
+		REPLACED,
+		EXPLICIT
+	}
+
+	@FunctionalInterface
+	public static interface Ticker {
+		long read ();
+
+		static Ticker system() {
+			return System::nanoTime;
+		}
+	}
+
+	@FunctionalInterface
+	public static interface Listener<K,V> {
+		void onEviction (final K key, final V value, final Cause cause);
+	}
+
+	public static <K,V> Builder<K,V> builder (final int maximumSize) {
+		return new Builder<>(maximumSize);
+	}
+
+	public static final class Builder<K,V> {
+
+		private final int maximumSize;
+		private Policy policy = Policy.TINY_LFU;
+		private long expireAfterWrite;
+		private long expireAfterAccess;
+		private Ticker ticker = Ticker.system();
+		private Listener<K,V> listener = (k, v, cause) -> {};
+
+		Builder (final int maximumSize) {
+			if (maximumSize < 1) {
+				throw new IllegalArgumentException("maximumSize must be positive");
+			}
+			this.maximumSize = maximumSize;
+		}
+
+		public Builder<K,V> policy(final Policy policy) {
+			this.policy = Objects.requireNonNull(policy);
+			return this;
+		}
+
+		public Builder<K,V> expireAfterWrite(final long duration, final TimeUnit unit) {
+			this.expireAfterWrite = positive(unit.toNanos(duration));
+			return this;
+		}
+
+		public Builder<K,V> expireAfterAccess(final long duration, final TimeUnit unit) {
+			this.expireAfterAccess = positive(unit.toNanos(duration));
+			return this;
+		}
+
+		public Builder<K,V> ticker(final Ticker ticker) {
+			this.ticker = Objects.requireNonNull(ticker);
+			return this;
+		}
+
+		public Builder<K,V> listener(final Listener<K,V> listener) {
+			this.listener = Objects.requireNonNull(listener);
+			return this;
+		}
+
+		public Cache<K,V> build() {
+			return new Cache<>(this);
+		}
+
+		private static long positive(final long nanos) {
+			if (nanos <= 0) {
+				throw new IllegalArgumentException("duration must be positive");
+			}
+			return nanos;
+		}
+	}
+
+	private static final int READ_BUFFER = 128;
+	private static final int DRAIN_THRESHOLD = READ_BUFFER / 2;
+
+	private static final byte WINDOW = 0;
+	private static final byte PROBATION = 1;
+	private static final byte PROTECTED = 2;
+
+	private final ConcurrentHashMap<K, Node<K,V>> data = new ConcurrentHashMap<>();
+	private final ReentrantLock lock = new ReentrantLock();
+	private final RingBuffer<Node<K,V>> reads = new RingBuffer<>(READ_BUFFER, RingBuffer.Wait.SPIN);
+	private final Policy policy;
+	private final int maximumSize;
+	private final int maximumWindow;
+	private final int maximumProtected;
+	private final long expireAfterWrite;
+	private final long expireAfterAccess;
+	private final Ticker ticker;
+	private final Listener<K,V> listener;
+	private final Sketch sketch;
+
+	private final Deque<K,V> window = new Deque<>(false);
+	private final Deque<K,V> probation = new Deque<>(false);
+	private final Deque<K,V> protect = new Deque<>(false);
+	private final Deque<K,V> writeOrder = new Deque<>(true);
+	private int size;
+
+	private Cache (final Builder<K,V> builder) {
+		this.policy = builder.policy;
+		this.maximumSize = builder.maximumSize;
+		this.maximumWindow = Math.max(1, maximumSize / 100);
+		this.maximumProtected = (maximumSize - maximumWindow) * 4 / 5;
+		this.expireAfterWrite = builder.expireAfterWrite;
+		this.expireAfterAccess = builder.expireAfterAccess;
+		this.ticker = builder.ticker;
+		this.listener = builder.listener;
+		this.sketch = policy == Policy.TINY_LFU ? new Sketch(maximumSize) : null;
+	}
+
+	public int size() {
+		return data.size();
+	}
+
+	private boolean expires() {
+		return expireAfterWrite > 0 || expireAfterAccess > 0;
+	}
+
+	private boolean expired(final Node<K,V> node, final long now) {
+		return (expireAfterWrite > 0 && now - node.writeTime >= expireAfterWrite)
+			|| (expireAfterAccess > 0 && now - node.accessTime >= expireAfterAccess);
+	}
+
+	/**
+	 * The live node for {@code key}, recording the read; null when absent
+	 * or expired.
+	 */
+	private Node<K,V> read(final K key) {
+		final Node<K,V> node = data.get(key);
+		if (node == null) {
+			return null;
+		}
+		final long now = expires() ? ticker.read() : 0;
+		if (expired(node, now)) {
+			if (lock.tryLock()) {
+				try {
+					if (node.alive) {
+						evict(node, Cause.EXPIRED);
+					}
+				} finally {
+					lock.unlock();
+				}
+			}
+			return null;
+		}
+		if (expireAfterAccess > 0) {
+			node.accessTime = now;
+		}
+		if (!reads.offer(node) || reads.size() >= DRAIN_THRESHOLD) {
+			if (lock.tryLock()) {
+				try {
+					maintain(now);
+				} finally {
+					lock.unlock();
+				}
+			}
+		}
+		return node;
+	}
+
+	@Override
+	public void forKey(final K key, final Consumer<V> action) {
+		final Node<K,V> node = read(key);
+		if (node != null) {
+			action.accept(node.value);
+		}
+	}
+
+	@Override
+	public void forEach(final BiConsumer<K, V> action) {
+		final long now = expires() ? ticker.read() : 0;
+		data.forEach((k, node) -> {
+			if (!expired(node, now)) {
+				action.accept(k, node.value);
+			}
+		});
+	}
+
+	@Override
+	public void forEachKey(final Consumer<K> action) {
+		forEach((k, v) -> action.accept(k));
+	}
+
+	@Override
+	public void forEachValue(final Consumer<V> action) {
+		forEach((k, v) -> action.accept(v));
+	}
+
+	@Override
+	public V put(final K key, final V value) {
+		Objects.requireNonNull(value);
+		return compute(key, (k, v) -> value, true);
+	}
+
+	@Override
+	public V putIfAbsent(final K key, final V value) {
+		Objects.requireNonNull(value);
+		return compute(key, (k, v) -> v == null ? value : v, true);
+	}
+
+	@Override
+	public V compute(final K key, final BiFunction<K, V, V> fn) {
+		return compute(key, fn, false);
+	}
+
+	@Override
+	public V remove(final K key) {
+		return compute(key, (k, v) -> null, true);
+	}
+
+	private V compute(final K key, final BiFunction<K, V, V> fn, final boolean returnPrevious) {
+		Objects.requireNonNull(key);
+		lock.lock();
+		try {
+			final long now = expires() ? ticker.read() : 0;
+			maintain(now);
+			Node<K,V> existing = data.get(key);
+			if (existing != null && expired(existing, now)) {
+				evict(existing, Cause.EXPIRED);
+				existing = null;
+			}
+			final V previous = existing == null ? null : existing.value;
+			final V updated = fn.apply(key, previous);
+			if (updated == null) {
+				if (existing != null) {
+					evict(existing, Cause.EXPLICIT);
+				}
+			} else if (existing == null) {
+				add(new Node<>(key, updated, Map.Hashed.hash(key), now));
+			} else if (updated != previous) {
+				existing.value = updated;
+				existing.writeTime = now;
+				existing.accessTime = now;
+				if (expireAfterWrite > 0) {
+					writeOrder.moveToLast(existing);
+				}
+				access(existing);
+				listener.onEviction(key, previous, Cause.REPLACED);
+			}
+			return returnPrevious ? previous : updated;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void maintain(final long now) {
+		reads.drain(this::access, READ_BUFFER);
+		if (expireAfterWrite > 0) {
+			expire(writeOrder, now);
+		}
+		if (expireAfterAccess > 0) {
+			expire(window, now);
+			expire(probation, now);
+			expire(protect, now);
+		}
+	}
+
+	private void expire(final Deque<K,V> deque, final long now) {
+		Node<K,V> node;
+		while ((node = deque.first()) != null && expired(node, now)) {
+			evict(node, Cause.EXPIRED);
+		}
+	}
+
+	private Deque<K,V> queue(final Node<K,V> node) {
+		return node.queue == WINDOW ? window : node.queue == PROBATION ? probation : protect;
+	}
+
+	private void access(final Node<K,V> node) {
+		if (!node.alive) {
+			return;
+		}
+		if (policy == Policy.LRU) {
+			probation.moveToLast(node);
+			return;
+		}
+		sketch.increment(node.hash);
+		if (node.queue == PROBATION) {
+			probation.remove(node);
+			node.queue = PROTECTED;
+			protect.addLast(node);
+			while (protect.size > maximumProtected) {
+				final Node<K,V> demoted = protect.first();
+				protect.remove(demoted);
+				demoted.queue = PROBATION;
+				probation.addLast(demoted);
+			}
+		} else {
+			queue(node).moveToLast(node);
+		}
+	}
+
+	private void add(final Node<K,V> node) {
+		data.put(node.key, node);
+		size ++;
+		if (expireAfterWrite > 0) {
+			writeOrder.addLast(node);
+		}
+		Node<K,V> candidate = null;
+		if (policy == Policy.LRU) {
+			node.queue = PROBATION;
+			probation.addLast(node);
+		} else {
+			sketch.increment(node.hash);
+			node.queue = WINDOW;
+			window.addLast(node);
+			if (window.size > maximumWindow) {
+				candidate = window.first();
+				window.remove(candidate);
+				candidate.queue = PROBATION;
+				probation.addLast(candidate);
+			}
+		}
+		while (size > maximumSize) {
+			Node<K,V> victim = probation.first();
+			if (victim == null) {
+				victim = protect.first() != null ? protect.first() : window.first();
+			}
+			if (candidate != null && candidate != victim && candidate.alive
+					&& sketch.frequency(candidate.hash) <= sketch.frequency(victim.hash)) {
+				victim = candidate;
+				candidate = null;
+			}
+			evict(victim, Cause.SIZE);
+		}
+	}
+
+	private void evict(final Node<K,V> node, final Cause cause) {
+		data.remove(node.key, node);
+		size --;
+		node.alive = false;
+		queue(node).remove(node);
+		if (expireAfterWrite > 0) {
+			writeOrder.remove(node);
+		}
+		listener.onEviction(node.key, node.value, cause);
+	}
+
+	final static class Node<K,V> {
+		final K key;
+		final int hash;
+		volatile V value;
+		volatile long writeTime;
+		volatile long accessTime;
+		boolean alive = true;
+		byte queue;
+		Node<K,V> prev;
+		Node<K,V> next;
+		Node<K,V> writePrev;
+		Node<K,V> writeNext;
+
+		Node (final K key, final V value, final int hash, final long now) {
+			this.key = key;
+			this.value = value;
+			this.hash = hash;
+			this.writeTime = now;
+			this.accessTime = now;
+		}
+	}
+
+	/**
+	 * Intrusive doubly linked queue over either the access links or the
+	 * write links of the nodes; only touched under the eviction lock.
+	 */
+	final static class Deque<K,V> {
+
+		private final boolean writes;
+		private Node<K,V> head;
+		private Node<K,V> tail;
+		int size;
+
+		Deque (final boolean writes) {
+			this.writes = writes;
+		}
+
+		Node<K,V> first() {
+			return head;
+		}
+
+		private Node<K,V> prev(final Node<K,V> node) {
+			return writes ? node.writePrev : node.prev;
+		}
+
+		private Node<K,V> next(final Node<K,V> node) {
+			return writes ? node.writeNext : node.next;
+		}
+
+		private void link(final Node<K,V> node, final Node<K,V> prev, final Node<K,V> next) {
+			if (writes) {
+				node.writePrev = prev;
+				node.writeNext = next;
+			} else {
+				node.prev = prev;
+				node.next = next;
+			}
+		}
+
+		private void setNext(final Node<K,V> node, final Node<K,V> next) {
+			if (writes) {
+				node.writeNext = next;
+			} else {
+				node.next = next;
+			}
+		}
+
+		private void setPrev(final Node<K,V> node, final Node<K,V> prev) {
+			if (writes) {
+				node.writePrev = prev;
+			} else {
+				node.prev = prev;
+			}
+		}
+
+		void addLast(final Node<K,V> node) {
+			link(node, tail, null);
+			if (tail == null) {
+				head = node;
+			} else {
+				setNext(tail, node);
+			}
+			tail = node;
+			size ++;
+		}
+
+		void remove(final Node<K,V> node) {
+			final Node<K,V> prev = prev(node);
+			final Node<K,V> next = next(node);
+			if (prev == null) {
+				if (head != node) {
+					return;
+				}
+				head = next;
+			} else {
+				setNext(prev, next);
+			}
+			if (next == null) {
+				tail = prev;
+			} else {
+				setPrev(next, prev);
+			}
+			link(node, null, null);
+			size --;
+		}
+
+		void moveToLast(final Node<K,V> node) {
+			if (tail != node) {
+				remove(node);
+				addLast(node);
+			}
+		}
+	}
+
+	/**
+	 * Count-min sketch of 4 bit counters, sixteen to a long, with four
+	 * hashed counters per key. All counters are halved once the number of
+	 * increments reaches ten times the cache size, so old popularity fades.
+	 */
+	final static class Sketch {
+
+		private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+
+		private final long[] table;
+		private final int mask;
+		private final int sampleSize;
+		private int additions;
+
+		Sketch (final int maximumSize) {
+			int length = 16;
+			while (length < maximumSize) {
+				length <<= 1;
+			}
+			this.table = new long[length];
+			this.mask = length - 1;
+			this.sampleSize = 10 * Math.max(16, maximumSize);
+		}
+
+		private int index(final int hash, final int i) {
+			long h = (hash + SEEDS[i]) * SEEDS[i];
+			h += h >>> 32;
+			return (int) h & mask;
+		}
+
+		private int shift(final int hash, final int i) {
+			return ((hash >>> (i << 3)) & 15) << 2;
+		}
+
+		int frequency(final int hash) {
+			int frequency = 15;
+			for (int i = 0; i < SEEDS.length; i ++) {
+				frequency = Math.min(frequency, (int) ((table[index(hash, i)] >>> shift(hash, i)) & 15));
+			}
+			return frequency;
+		}
+
+		void increment(final int hash) {
+			boolean added = false;
+			for (int i = 0; i < SEEDS.length; i ++) {
+				final int index = index(hash, i);
+				final int shift = shift(hash, i);
+				if (((table[index] >>> shift) & 15) != 15) {
+					table[index] += 1L << shift;
+					added = true;
+				}
+			}
+			if (added && ++ additions >= sampleSize) {
+				for (int i = 0; i < table.length; i ++) {
+					table[i] = (table[i] >>> 1) & 0x7777777777777777L;
+				}
+				additions /= 2;
+			}
+		}
+	}
+}
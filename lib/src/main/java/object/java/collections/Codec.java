@@ -0,0 +1,261 @@
+package object.java.collections;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+public interface Codec<T> {
+
+	int sizeOf (final T value);
+
+	void encode (final T value, final ByteBuffer buffer, final int offset);
+
+	T decode (final ByteBuffer buffer, final int offset);
+
+	static Codec<Integer> ints() {
+		return Ints.INST;
+	}
+
+	static Codec<Long> longs() {
+		return Longs.INST;
+	}
+
+	static Codec<Double> doubles() {
+		return Doubles.INST;
+	}
+
+	static Codec<String> strings() {
+		return Strings.INST;
+	}
+
+	static Codec<Byte> bytes() {
+		return Bytes.INST;
+	}
+
+	static Codec<Boolean> booleans() {
+		return Booleans.INST;
+	}
+
+	static Codec<Short> shorts() {
+		return Shorts.INST;
+	}
+
+	static Codec<Character> chars() {
+		return Chars.INST;
+	}
+
+	static Codec<Float> floats() {
+		return Floats.INST;
+	}
+
+	static enum Bytes implements Codec<Byte> {
+		INST
+		;
+
+		@Override
+		public int sizeOf(final Byte value) {
+			return Byte.BYTES;
+		}
+
+		@Override
+		public void encode(final Byte value, final ByteBuffer buffer, final int offset) {
+			buffer.put(offset, value);
+		}
+
+		@Override
+		public Byte decode(final ByteBuffer buffer, final int offset) {
+			return buffer.get(offset);
+		}
+	}
+
+	static enum Booleans implements Codec<Boolean> {
+		INST
+		;
+
+		@Override
+		public int sizeOf(final Boolean value) {
+			return Byte.BYTES;
+		}
+
+		@Override
+		public void encode(final Boolean value, final ByteBuffer buffer, final int offset) {
+			buffer.put(offset, (byte) (value ? 1 : 0));
+		}
+
+		@Override
+		public Boolean decode(final ByteBuffer buffer, final int offset) {
+			return buffer.get(offset) != 0;
+		}
+	}
+
+	static enum Shorts implements Codec<Short> {
+		INST
+		;
+
+		@Override
+		public int sizeOf(final Short value) {
+			return Short.BYTES;
+		}
+
+		@Override
+		public void encode(final Short value, final ByteBuffer buffer, final int offset) {
+			buffer.putShort(offset, value);
+		}
+
+		@Override
+		public Short decode(final ByteBuffer buffer, final int offset) {
+			return buffer.getShort(offset);
+		}
+	}
+
+	static enum Chars implements Codec<Character> {
+		INST
+		;
+
+		@Override
+		public int sizeOf(final Character value) {
+			return Character.BYTES;
+		}
+
+		@Override
+		public void encode(final Character value, final ByteBuffer buffer, final int offset) {
+			buffer.putChar(offset, value);
+		}
+
+		@Override
+		public Character decode(final ByteBuffer buffer, final int offset) {
+			return buffer.getChar(offset);
+		}
+	}
+
+	static enum Floats implements Codec<Float> {
+		INST
+		;
+
+		@Override
+		public int sizeOf(final Float value) {
+			return Float.BYTES;
+		}
+
+		@Override
+		public void encode(final Float value, final ByteBuffer buffer, final int offset) {
+			buffer.putFloat(offset, value);
+		}
+
+		@Override
+		public Float decode(final ByteBuffer buffer, final int offset) {
+			return buffer.getFloat(offset);
+		}
+	}
+
+	static enum Ints implements Codec<Integer> {
+		INST
+		;
+
+		@Override
+		public int sizeOf(final Integer value) {
+			return Integer.BYTES;
+		}
+
+		@Override
+		public void encode(final Integer value, final ByteBuffer buffer, final int offset) {
+			buffer.putInt(offset, value);
+		}
+
+		@Override
+		public Integer decode(final ByteBuffer buffer, final int offset) {
+			return buffer.getInt(offset);
+		}
+	}
+
+	static enum Longs implements Codec<Long> {
+		INST
+		;
+
+		@Override
+		public int sizeOf(final Long value) {
+			return Long.BYTES;
+		}
+
+		@Override
+		public void encode(final Long value, final ByteBuffer buffer, final int offset) {
+			buffer.putLong(offset, value);
+		}
+
+		@Override
+		public Long decode(final ByteBuffer buffer, final int offset) {
+			return buffer.getLong(offset);
+		}
+	}
+
+	static enum Doubles implements Codec<Double> {
+		INST
+		;
+
+		@Override
+		public int sizeOf(final Double value) {
+			return Double.BYTES;
+		}
+
+		@Override
+		public void encode(final Double value, final ByteBuffer buffer, final int offset) {
+			buffer.putDouble(offset, value);
+		}
+
+		@Override
+		public Double decode(final ByteBuffer buffer, final int offset) {
+			return buffer.getDouble(offset);
+		}
+	}
+
+	/**
+	 * UTF-8 bytes prefixed with their length as a 4 byte int. Unpaired
+	 * surrogates are written as '?', as {@link String#getBytes} does.
+	 */
+	static enum Strings implements Codec<String> {
+		INST
+		;
+
+		@Override
+		public int sizeOf(final String value) {
+			int bytes = 0;
+			for (int i = 0; i < value.length(); i ++) {
+				final char c = value.charAt(i);
+				if (c < 0x80) {
+					bytes += 1;
+				} else if (c < 0x800) {
+					bytes += 2;
+				} else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+					bytes += 4;
+					i ++;
+				} else if (Character.isSurrogate(c)) {
+					bytes += 1;
+				} else {
+					bytes += 3;
+				}
+			}
+			return Integer.BYTES + bytes;
+		}
+
+		@Override
+		public void encode(final String value, final ByteBuffer buffer, final int offset) {
+			final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			buffer.putInt(offset, bytes.length);
+			final ByteBuffer target = buffer.duplicate();
+			target.position(offset + Integer.BYTES);
+			target.put(bytes);
+		}
+
+		@Override
+		public String decode(final ByteBuffer buffer, final int offset) {
+			final int length = buffer.getInt(offset);
+			if (buffer.hasArray()) {
+				return new String(buffer.array(), buffer.arrayOffset() + offset + Integer.BYTES, length, StandardCharsets.UTF_8);
+			}
+			final byte[] bytes = new byte[length];
+			final ByteBuffer source = buffer.duplicate();
+			source.position(offset + Integer.BYTES);
+			source.get(bytes);
+			return new String(bytes, StandardCharsets.UTF_8);
+		}
+	}
+}
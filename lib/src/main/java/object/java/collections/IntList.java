@@ -0,0 +1,248 @@
+package object.java.collections;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.IntConsumer;
+import java.util.function.IntUnaryOperator;
+
+public interface IntList {
+
+    void forEach (final IntConsumer action);
+
+    void forEach (final int start, final int end, final IntConsumer action) throws IndexOutOfBoundsException;
+
+    void forIndex (final int index, final IntConsumer action) throws IndexOutOfBoundsException;
+
+    int size ();
+
+    static IntList empty() {
+    	return Empty.INST;
+    }
+
+    static IntList of (final int...values) {
+    	if (values == null || values.length == 0)
+    		return empty();
+    	return new NonEmpty(values);
+    }
+
+    static IntList repeated (final int n, final int value) {
+    	if (n < 0) {
+    		throw new IllegalArgumentException("n must not be negative");
+    	}
+    	return new Repeated(n, value);
+    }
+
+    static IntList mapped (final IntUnaryOperator fn, final IntList list) {
+    	return new Mapped(list, fn);
+    }
+
+    static IntList par (final IntList list, final ExecutorService es) {
+    	return new Par(es, list);
+    }
+
+    final static class NonEmpty implements IntList {
+
+    	private final int[] values;
+
+    	NonEmpty (final int[] values) {
+    		this.values = values;
+    	}
+
+		@Override
+		public void forEach(final IntConsumer action) {
+			for (final int value : values) {
+				action.accept(value);
+			}
+		}
+
+		@Override
+		public void forEach(int start, int end, IntConsumer action) throws IndexOutOfBoundsException {
+			if ((start < 0 || start >= values.length) ||
+				(end <= 0 || end > values.length) ||
+				(start >= end)) {
+				throw new IndexOutOfBoundsException("index out of range.");
+			}
+			for (int i = start; i < end; i ++) {
+				action.accept(values[i]);
+			}
+		}
+
+		@Override
+		public void forIndex(int index, IntConsumer action) throws IndexOutOfBoundsException {
+			action.accept(values[index]);
+		}
+
+		@Override
+		public int size() {
+			return values.length;
+		}
+    }
+
+    final static class Repeated implements IntList {
+
+    	private final int n;
+    	private final int value;
+
+    	Repeated (final int n, final int value) {
+    		this.n = n;
+    		this.value = value;
+    	}
+
+		@Override
+		public void forEach(final IntConsumer action) {
+			for (int i = 0; i < n; i ++) {
+				action.accept(value);
+			}
+		}
+
+		@Override
+		public void forEach(int start, int end, IntConsumer action) throws IndexOutOfBoundsException {
+			if ((start < 0 || start >= n) ||
+				(end <= 0 || end > n) ||
+				(start >= end)) {
+				throw new IndexOutOfBoundsException("index out of range.");
+			}
+			for (int i = start; i < end; i ++) {
+				action.accept(value);
+			}
+		}
+
+		@Override
+		public void forIndex(int index, IntConsumer action) throws IndexOutOfBoundsException {
+			if (index < 0 || index >= n) {
+				throw new IndexOutOfBoundsException("index out of range");
+			}
+			action.accept(value);
+		}
+
+		@Override
+		public int size() {
+			return n;
+		}
+    }
+
+    final static class Mapped implements IntList {
+
+    	private final IntList list;
+    	private final IntUnaryOperator fn;
+
+    	Mapped (final IntList list, final IntUnaryOperator fn) {
+    		this.list = list;
+    		this.fn = fn;
+    	}
+
+		@Override
+		public void forEach(final IntConsumer action) {
+			list.forEach(t -> action.accept(fn.applyAsInt(t)));
+		}
+
+		@Override
+		public void forEach(int start, int end, IntConsumer action) throws IndexOutOfBoundsException {
+			list.forEach(start, end, t -> action.accept(fn.applyAsInt(t)));
+		}
+
+		@Override
+		public void forIndex(int index, IntConsumer action) throws IndexOutOfBoundsException {
+			list.forIndex(index, t -> action.accept(fn.applyAsInt(t)));
+		}
+
+		@Override
+		public int size() {
+			return list.size();
+		}
+    }
+
+    final static class Par implements IntList {
+
+    	private final ExecutorService es;
+    	private final IntList list;
+
+    	Par (final ExecutorService es, final IntList list) {
+    		this.es = es;
+    		this.list = list;
+    	}
+
+		@Override
+		public void forEach(final IntConsumer action) {
+			if (list.size() > 0) {
+				forEach(0, list.size(), action);
+			}
+		}
+
+		@Override
+		public void forEach(int start, int end, IntConsumer action) throws IndexOutOfBoundsException {
+			if ((start < 0 || start >= list.size()) ||
+				(end <= 0 || end > list.size()) ||
+				(start >= end)) {
+				throw new IndexOutOfBoundsException("index out of range.");
+			}
+			final int chunks = Math.min(end - start, parallelism());
+			final Future<?>[] futures = new Future<?>[chunks];
+			for (int c = 0; c < chunks; c ++) {
+				final int lo = start + (int) ((long) (end - start) * c / chunks);
+				final int hi = start + (int) ((long) (end - start) * (c + 1) / chunks);
+				futures[c] = es.submit(() -> list.forEach(lo, hi, action));
+			}
+			for (final Future<?> future : futures) {
+				waitFor(future);
+			}
+		}
+
+		@Override
+		public void forIndex(int index, IntConsumer action) throws IndexOutOfBoundsException {
+			waitFor(es.submit(() -> list.forIndex(index, action)));
+		}
+
+		@Override
+		public int size() {
+			return list.size();
+		}
+
+		private int parallelism() {
+			return es instanceof ForkJoinPool
+					? ((ForkJoinPool) es).getParallelism()
+					: Runtime.getRuntime().availableProcessors();
+		}
+
+		private static void waitFor(final Future<?> future) {
+			try {
+				future.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new RuntimeException(e);
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) e.getCause();
+				}
+				throw new RuntimeException(e.getCause());
+			}
+		}
+    }
+
+    static enum Empty implements IntList {
+    	INST
+    	;
+
+		@Override
+		public void forEach(final IntConsumer action) {
+			//DO NOTHING
+		}
+
+		@Override
+		public void forEach(int start, int end, IntConsumer action) throws IndexOutOfBoundsException {
+			throw new IndexOutOfBoundsException("index out of range");
+		}
+
+		@Override
+		public void forIndex(int index, IntConsumer action) throws IndexOutOfBoundsException {
+			throw new IndexOutOfBoundsException("index out of range");
+		}
+
+		@Override
+		public int size() {
+			return 0;
+		}
+    }
+}
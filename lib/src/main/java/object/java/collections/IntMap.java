@@ -0,0 +1,133 @@
+package object.java.collections;
+
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+public interface IntMap<V> {
+
+	@FunctionalInterface
+	interface IntObjConsumer<V> {
+		void accept (final int key, final V value);
+	}
+
+	void forEach (final IntObjConsumer<V> action);
+
+	void forEachKey (final IntConsumer action);
+
+	void forEachValue (final Consumer<V> action);
+
+	void forKey (final int key, final Consumer<V> action);
+
+	@SuppressWarnings("unchecked")
+	static <V> IntMap<V> empty() {
+		return (IntMap<V>) Empty.INST;
+	}
+
+	static <V> IntMap<V> of (final int[] keys, final V[] values) {
+		if (keys == null || values == null || keys.length == 0) {
+			return empty();
+		}
+		assert (keys.length == values.length);
+		return new Hashed<>(keys, values);
+	}
+
+	final static class Hashed<V> implements IntMap<V> {
+
+		private final int[] keys;
+		private final java.lang.Object[] values;
+		private final boolean[] used;
+		private final int mask;
+
+		Hashed (final int[] keys, final V[] values) {
+			int capacity = 2;
+			while (capacity < keys.length * 2) {
+				capacity <<= 1;
+			}
+			this.keys = new int[capacity];
+			this.values = new java.lang.Object[capacity];
+			this.used = new boolean[capacity];
+			this.mask = capacity - 1;
+			for (int i = 0; i < keys.length; i ++) {
+				int slot = slot(keys[i]);
+				while (used[slot] && this.keys[slot] != keys[i]) {
+					slot = (slot + 1) & mask;
+				}
+				used[slot] = true;
+				this.keys[slot] = keys[i];
+				this.values[slot] = values[i];
+			}
+		}
+
+		private int slot(final int key) {
+			final int h = key * 0x9E3779B9;
+			return (h ^ (h >>> 16)) & mask;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public void forEach(final IntObjConsumer<V> action) {
+			for (int i = 0; i < keys.length; i ++) {
+				if (used[i]) {
+					action.accept(keys[i], (V) values[i]);
+				}
+			}
+		}
+
+		@Override
+		public void forEachKey(final IntConsumer action) {
+			for (int i = 0; i < keys.length; i ++) {
+				if (used[i]) {
+					action.accept(keys[i]);
+				}
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public void forEachValue(final Consumer<V> action) {
+			for (int i = 0; i < keys.length; i ++) {
+				if (used[i]) {
+					action.accept((V) values[i]);
+				}
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public void forKey(final int key, final Consumer<V> action) {
+			int slot = slot(key);
+			while (used[slot]) {
+				if (keys[slot] == key) {
+					action.accept((V) values[slot]);
+					return;
+				}
+				slot = (slot + 1) & mask;
+			}
+		}
+	}
+
+	static enum Empty implements IntMap<Void> {
+		INST
+		;
+
+		@Override
+		public void forEach(final IntObjConsumer<Void> action) {
+			//DO NOTHING
+		}
+
+		@Override
+		public void forEachKey(final IntConsumer action) {
+			//DO NOTHING
+		}
+
+		@Override
+		public void forEachValue(final Consumer<Void> action) {
+			//DO NOTHING
+		}
+
+		@Override
+		public void forKey(final int key, final Consumer<Void> action) {
+			//DO NOTHING
+		}
+	}
+}
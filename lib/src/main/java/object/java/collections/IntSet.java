@@ -0,0 +1,99 @@
+package object.java.collections;
+
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+public interface IntSet {
+
+	void contains (final int value, final Consumer<Boolean> fn);
+
+	void forEach (final IntConsumer action);
+
+	static IntSet empty() {
+		return Empty.INST;
+	}
+
+	static IntSet of (final int...values) {
+		if (values == null || values.length == 0)
+			return empty();
+		return new Hashed(values);
+	}
+
+	final static class Hashed implements IntSet {
+
+		private final int[] table;
+		private final int mask;
+		private final boolean hasZero;
+
+		Hashed (final int...values) {
+			int capacity = 2;
+			while (capacity < values.length * 2) {
+				capacity <<= 1;
+			}
+			this.table = new int[capacity];
+			this.mask = capacity - 1;
+			boolean zero = false;
+			for (final int value : values) {
+				if (value == 0) {
+					zero = true;
+					continue;
+				}
+				int slot = slot(value);
+				while (table[slot] != 0 && table[slot] != value) {
+					slot = (slot + 1) & mask;
+				}
+				table[slot] = value;
+			}
+			this.hasZero = zero;
+		}
+
+		private int slot(final int value) {
+			final int h = value * 0x9E3779B9;
+			return (h ^ (h >>> 16)) & mask;
+		}
+
+		@Override
+		public void contains(final int value, final Consumer<Boolean> fn) {
+			if (value == 0) {
+				fn.accept(hasZero);
+				return;
+			}
+			int slot = slot(value);
+			while (table[slot] != 0) {
+				if (table[slot] == value) {
+					fn.accept(true);
+					return;
+				}
+				slot = (slot + 1) & mask;
+			}
+			fn.accept(false);
+		}
+
+		@Override
+		public void forEach(final IntConsumer action) {
+			if (hasZero) {
+				action.accept(0);
+			}
+			for (final int value : table) {
+				if (value != 0) {
+					action.accept(value);
+				}
+			}
+		}
+	}
+
+	static enum Empty implements IntSet {
+		INST
+		;
+
+		@Override
+		public void contains(final int value, final Consumer<Boolean> fn) {
+			fn.accept(false);
+		}
+
+		@Override
+		public void forEach(final IntConsumer action) {
+			//DO NOTHING
+		}
+	}
+}
@@ -1,12 +1,30 @@
 package object.java.collections;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 public interface List<T> {
 
@@ -16,6 +34,37 @@ public interface List<T> {
     
     void forIndex (final int index, final Consumer<T> action) throws IndexOutOfBoundsException;
     
+    /**
+     * O(1), except for the lazy {@link #filtered} and {@link #flatMapped}
+     * views, whose first call scans the whole source.
+     */
+    int size ();
+    
+    default boolean splittable () {
+    	return false;
+    }
+    
+    default void reduce (final BinaryOperator<T> op, final Consumer<T> action) {
+    	final AtomicReference<T> result = new AtomicReference<>();
+    	final AtomicBoolean empty = new AtomicBoolean(true);
+    	forEach(t -> result.lazySet(empty.getAndSet(false) ? t : op.apply(result.get(), t)));
+    	if (!empty.get()) {
+    		action.accept(result.get());
+    	}
+    }
+    
+    default <R> void fold (final R identity, final BiFunction<R, T, R> accumulator, final BinaryOperator<R> combiner, final Consumer<R> action) {
+    	final AtomicReference<R> result = new AtomicReference<>(identity);
+    	forEach(t -> result.lazySet(accumulator.apply(result.get(), t)));
+    	action.accept(result.get());
+    }
+    
+    default <R> void collect (final Supplier<R> supplier, final BiConsumer<R, T> accumulator, final BiConsumer<R, R> combiner, final Consumer<R> action) {
+    	final R container = supplier.get();
+    	forEach(t -> accumulator.accept(container, t));
+    	action.accept(container);
+    }
+    
     
     @SuppressWarnings("unchecked")
 	static<T>  List<T> empty() {
@@ -30,240 +79,834 @@ public interface List<T> {
     }
     
     static <T> List<T> repeated (final int n, final T value) {
+    	if (n < 0) {
+    		throw new IllegalArgumentException("n must not be negative");
+    	}
         return new Repeated<>(n, value);
     }
     
+    /**
+     * The integers {@code from <= i < to}, computed on access; empty when
+     * {@code to <= from}.
+     */
+    static List<Integer> range (final int from, final int to) {
+    	final long n = (long) to - from;
+    	if (n > Integer.MAX_VALUE) {
+    		throw new IllegalArgumentException("range too large");
+    	}
+    	return new Range(from, (int) Math.max(0L, n));
+    }
+    
+    /**
+     * The values {@code fn(0) .. fn(n - 1)}, computed on every access.
+     */
+    static <T> List<T> tabulate (final int n, final IntFunction<T> fn) {
+    	if (n < 0) {
+    		throw new IllegalArgumentException("n must not be negative");
+    	}
+    	return new Tabulated<>(n, fn);
+    }
+    
     static<T, R> List<R> mapped (final Function<T, R> fn, final List<T> list) {
+    	if (list instanceof Mapped) {
+    		return ((Mapped<?, T>) list).andThen(fn);
+    	}
+    	if (list instanceof FlatMapped) {
+    		return ((FlatMapped<?, T>) list).andThen(fn);
+    	}
         return new Mapped<>(list, fn);
     }
     
     static <T, R> List<R> flatMapped (final Function<T, List<R>> fn, final List<T> list) {
+    	if (list instanceof Mapped) {
+    		return ((Mapped<?, T>) list).andThenFlat(fn);
+    	}
         return new FlatMapped<>(list, fn);
     }
     
+    /**
+     * Mapped view that caches up to {@code maxEntries} results, so
+     * {@code fn} runs once per element while its result stays cached.
+     */
+    static <T, R> Memoized<T, R> memoized (final Function<T, R> fn, final List<T> list, final int maxEntries) {
+    	if (maxEntries < 1) {
+    		throw new IllegalArgumentException("maxEntries must be positive");
+    	}
+    	return new Memoized<>(list, fn, maxEntries);
+    }
+    
+    static <T> List<T> filtered (final Predicate<T> predicate, final List<T> list) {
+    	if (list instanceof Filtered) {
+    		return ((Filtered<T>) list).and(predicate);
+    	}
+    	return new Filtered<>(list, predicate);
+    }
+    
     @SafeVarargs
 	static <T> List<T> linkedList (final T...values) {
-        List<T> tail = empty();
-        List<T> list = tail;
+        Vector<T> list = Vector.empty();
         for (T value : values) {
-            list = new TailList <>(list, value);
+            list = list.append(value);
         }
         return list;
     }
     
     static<T> List<T> tailList (final List<T> head, final T tail) {
-    	return new TailList<>(head, tail);
+    	return Vector.from(head).append(tail);
     }
     
     
     static<T> List<T> par (final List<T> list, final ExecutorService es) {
-    	return new Par<>(es, list);
+    	return new Par<>(es, list, Metrics.none());
+    }
+    
+    static<T> List<T> par (final List<T> list, final ExecutorService es, final Metrics metrics) {
+    	return new Par<>(es, list, metrics);
+    }
+    
+    static<T> List<T> instrumented (final List<T> list, final Metrics metrics) {
+    	return new Instrumented<>(list, metrics);
+    }
+    
+    static<T> AsyncList<T> parAsync (final List<T> list, final Executor executor, final int maxInFlight) {
+    	if (maxInFlight < 1) {
+    		throw new IllegalArgumentException("maxInFlight must be positive");
+    	}
+    	return new AsyncList.Par<>(list, executor, maxInFlight);
+    }
+    
+    static<T> List<T> offHeap (final Codec<T> codec, final List<T> list) {
+    	return new OffHeap<>(codec, list, OffHeap.CHUNK_BYTES);
+    }
+    
+    /**
+     * Writes {@code list} to {@code path} in the layout {@link #open} reads.
+     */
+    static<T> void write (final Codec<T> codec, final List<T> list, final Path path) throws IOException {
+    	MappedFile.writeList(codec, list, path, MappedFile.CHUNK_BYTES);
+    }
+    
+    /**
+     * Memory maps a file written by {@link #write}; elements are decoded on
+     * each access.
+     */
+    static<T> List<T> open (final Codec<T> codec, final Path path) throws IOException {
+    	return MappedFile.openList(codec, path);
     }
     
     static<T> List<T> push (final T value, final List<T> stack) {
-    	return new Cons<>(stack, value);
+    	return Stack.from(stack).push(value);
     }
     
+    /**
+     * The stack below the top of {@code stack}, empty when it is empty.
+     */
     static<T> List<T> pop (final List<T> stack) {
-    	return new Popped<>(stack);
+    	final AtomicReference<List<T>> rest = new AtomicReference<>(Stack.empty());
+    	pop(stack, (top, below) -> rest.set(below));
+    	return rest.get();
+    }
+    
+    /**
+     * Passes the top of {@code stack} and the stack below it to
+     * {@code action}; does nothing when it is empty.
+     */
+    static<T> void pop (final List<T> stack, final BiConsumer<T, Stack<T>> action) {
+    	Stack.from(stack).pop(action);
     }
     
     static<T> List<T> enqueue (final List<T> queue, final T value) {
-    	return new TailList<>(queue, value);
+    	return Queue.from(queue).enqueue(value);
     }
     
+    /**
+     * The queue after its head, empty when it is empty.
+     */
     static<T> List<T> dequeue (final List<T> queue) {
-    	return new Dequeued<>(queue);
+    	final AtomicReference<List<T>> rest = new AtomicReference<>(Queue.empty());
+    	dequeue(queue, (head, after) -> rest.set(after));
+    	return rest.get();
+    }
+    
+    /**
+     * Passes the head of {@code queue} and the queue after it to
+     * {@code action}; does nothing when it is empty.
+     */
+    static<T> void dequeue (final List<T> queue, final BiConsumer<T, Queue<T>> action) {
+    	Queue.from(queue).dequeue(action);
     }
     
-    final static class Dequeued<T> implements List<T> {
+    /**
+     * Persistent vector: a 32-way trie of leaf arrays plus a tail buffer
+     * holding the last (up to 32) elements. Appends copy only the tail or
+     * the path from the root to the rightmost leaf, so every version shares
+     * all untouched nodes with its predecessor.
+     */
+    final static class Vector<T> implements List<T> {
 
-    	private final List<T> queue;
+    	private static final int BITS = 5;
+    	private static final int WIDTH = 1 << BITS;
+    	private static final int MASK = WIDTH - 1;
 
-		Dequeued(final List<T> queue) {
-    		this.queue = queue;
+    	private static final Vector<?> EMPTY_VECTOR = new Vector<>(0, BITS, new java.lang.Object[WIDTH], new java.lang.Object[0]);
+
+    	private final int size;
+    	private final int shift;
+    	private final java.lang.Object[] root;
+    	private final java.lang.Object[] tail;
+
+    	private Vector(final int size, final int shift, final java.lang.Object[] root, final java.lang.Object[] tail) {
+    		this.size = size;
+    		this.shift = shift;
+    		this.root = root;
+    		this.tail = tail;
     	}
-    	
+
+    	@SuppressWarnings("unchecked")
+		static <T> Vector<T> empty() {
+    		return (Vector<T>) EMPTY_VECTOR;
+    	}
+
+    	static <T> Vector<T> from(final List<T> list) {
+    		if (list instanceof Vector) {
+    			return (Vector<T>) list;
+    		}
+    		final AtomicReference<Vector<T>> result = new AtomicReference<>(empty());
+    		list.forEach(t -> result.set(result.get().append(t)));
+    		return result.get();
+    	}
+
+    	Vector<T> append(final T value) {
+    		if (size - tailOffset() < WIDTH) {
+    			final java.lang.Object[] newTail = Arrays.copyOf(tail, tail.length + 1);
+    			newTail[tail.length] = value;
+    			return new Vector<>(size + 1, shift, root, newTail);
+    		}
+    		final java.lang.Object[] newRoot;
+    		int newShift = shift;
+    		if ((size >>> BITS) > (1 << shift)) {
+    			newRoot = new java.lang.Object[WIDTH];
+    			newRoot[0] = root;
+    			newRoot[1] = newPath(shift, tail);
+    			newShift += BITS;
+    		} else {
+    			newRoot = pushTail(shift, root, tail);
+    		}
+    		return new Vector<>(size + 1, newShift, newRoot, new java.lang.Object[] {value});
+    	}
+
+    	private java.lang.Object[] pushTail(final int level, final java.lang.Object[] parent, final java.lang.Object[] tailNode) {
+    		final int index = ((size - 1) >>> level) & MASK;
+    		final java.lang.Object[] node = parent.clone();
+    		if (level == BITS) {
+    			node[index] = tailNode;
+    		} else {
+    			final java.lang.Object[] child = (java.lang.Object[]) parent[index];
+    			node[index] = child != null
+    					? pushTail(level - BITS, child, tailNode)
+    					: newPath(level - BITS, tailNode);
+    		}
+    		return node;
+    	}
+
+    	private static java.lang.Object[] newPath(final int level, final java.lang.Object[] node) {
+    		if (level == 0) {
+    			return node;
+    		}
+    		final java.lang.Object[] path = new java.lang.Object[WIDTH];
+    		path[0] = newPath(level - BITS, node);
+    		return path;
+    	}
+
+    	private int tailOffset() {
+    		return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+    	}
+
+    	private java.lang.Object[] leafFor(final int index) {
+    		if (index >= tailOffset()) {
+    			return tail;
+    		}
+    		java.lang.Object[] node = root;
+    		for (int level = shift; level > 0; level -= BITS) {
+    			node = (java.lang.Object[]) node[(index >>> level) & MASK];
+    		}
+    		return node;
+    	}
+
 		@Override
-		public void forEach(Consumer<T> action) {
-			try {
-				queue.forIndex(0, action);
-			} catch (IndexOutOfBoundsException e) {
-				//forEach should not throw exception;
+		public void forEach(final Consumer<T> action) {
+			if (size > 0) {
+				each(0, size, action);
 			}
 		}
 
 		@Override
 		public void forEach(int start, int end, Consumer<T> action) throws IndexOutOfBoundsException {
-			if (start == 0 && end == 1) {
-				queue.forIndex(0, action);
-			} else {
-				throw new IndexOutOfBoundsException("index out of range");
+			if ((start < 0 || start >= size) ||
+				(end <= 0 || end > size) ||
+				(start >= end)) {
+				throw new IndexOutOfBoundsException("index out of range.");
+			}
+			each(start, end, action);
+		}
+
+		@SuppressWarnings("unchecked")
+		private void each(final int start, final int end, final Consumer<T> action) {
+			int i = start;
+			while (i < end) {
+				final java.lang.Object[] leaf = leafFor(i);
+				final int stop = Math.min(end, (i & ~MASK) + WIDTH);
+				for (; i < stop; i ++) {
+					action.accept((T) leaf[i & MASK]);
+				}
 			}
 		}
 
+		@SuppressWarnings("unchecked")
 		@Override
 		public void forIndex(int index, Consumer<T> action) throws IndexOutOfBoundsException {
-			if (index == 0) {
-				queue.forIndex(0, action);
-			} else {
+			if (index < 0 || index >= size) {
 				throw new IndexOutOfBoundsException("index out of range");
 			}
+			action.accept((T) leafFor(index)[index & MASK]);
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public boolean splittable() {
+			return true;
 		}
     }
-    
-    final static class TailList<T> implements List<T> {
 
-    	private final List<T> head;
-		private final T tail;
-		private final int headSize;
+    /**
+     * Parallel traversal with one task per chunk. Splittable lists are cut
+     * into index ranges, recursively on a {@link ForkJoinPool} so idle
+     * workers steal the remaining halves; other lists are read sequentially
+     * and handed out in batches. Every chunk folds into its own partial
+     * result and partial results are combined in encounter order.
+     */
+    final static class Par<T> implements List<T> {
+
+    	private static final int CHUNKS_PER_WORKER = 4;
+    	/**
+    	 * Queued tasks beyond which a chunk stops splitting: with that many
+    	 * left for thieves, further splits only add task overhead.
+    	 */
+    	private static final int MAX_SURPLUS_TASKS = 3;
+    	private static final java.lang.Object NONE = new java.lang.Object();
 
-		TailList(final List<T> head, final T tail) {
-    		this.tail  = tail;
-    		this.head = head;
-    		this.headSize = sizeOf (head);
+    	private final List<T> list;
+		private final ExecutorService es;
+		private final Metrics metrics;
+
+		Par (final ExecutorService es, final List<T> list, final Metrics metrics) {
+    		this.es = es;
+    		this.list = list;
+    		this.metrics = metrics;
     	}
     	
-		private int sizeOf(List<T> head2) {
-			final AtomicInteger counter = new AtomicInteger();
-			head2.forEach(t -> counter.incrementAndGet());
-			return counter.get();
-		}
-
 		@Override
-		public void forEach(Consumer<T> action) {
-			head.forEach(action);
-			action.accept(tail);
+		public void forEach(final Consumer<T> action) {
+			if (list.size() > 0) {
+				fold(0, list.size(), () -> null, (r, t) -> {
+					action.accept(t);
+					return r;
+				}, (a, b) -> a);
+			}
 		}
 
 		@Override
 		public void forEach(int start, int end, Consumer<T> action) throws IndexOutOfBoundsException {
-			if (start == 0 && end == 1) {
-				action.accept(tail); //special case singleton list.
-			} else if (end > headSize + 1) {
-				throw new IndexOutOfBoundsException("index out of range");
-			} else if (end == headSize + 1) {
-				head.forEach(start, end - 1, action);
-				action.accept(tail);
-			}else if (end == headSize) {
-				head.forEach(start, end, action);				
-			} else {
-				head.forEach(start, end, action);
+			if ((start < 0 || start >= list.size()) ||
+				(end <= 0 || end > list.size()) ||
+				(start >= end)) {
+				throw new IndexOutOfBoundsException("index out of range.");
 			}
+			fold(start, end, () -> null, (r, t) -> {
+				action.accept(t);
+				return r;
+			}, (a, b) -> a);
 		}
 
 		@Override
 		public void forIndex(int index, Consumer<T> action) throws IndexOutOfBoundsException {
-			if (index == headSize) {
-				action.accept(tail);
+			waitFor(es.submit(() -> list.forIndex(index, action)));
+		}
+
+		@Override
+		public int size() {
+			return list.size();
+		}
+
+		@Override
+		public boolean splittable() {
+			return list.splittable();
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public void reduce(final BinaryOperator<T> op, final Consumer<T> action) {
+			if (list.size() > 0) {
+				final java.lang.Object result = fold(0, list.size(), () -> NONE,
+						(r, t) -> r == NONE ? t : op.apply((T) r, t),
+						(a, b) -> a == NONE ? b : b == NONE ? a : op.apply((T) a, (T) b));
+				if (result != NONE) {
+					action.accept((T) result);
+				}
+			}
+		}
+
+		@Override
+		public <R> void fold(final R identity, final BiFunction<R, T, R> accumulator, final BinaryOperator<R> combiner, final Consumer<R> action) {
+			action.accept(list.size() > 0
+					? fold(0, list.size(), () -> identity, accumulator, combiner)
+					: identity);
+		}
+
+		@Override
+		public <R> void collect(final Supplier<R> supplier, final BiConsumer<R, T> accumulator, final BiConsumer<R, R> combiner, final Consumer<R> action) {
+			action.accept(list.size() > 0
+					? fold(0, list.size(), supplier, (r, t) -> {
+						accumulator.accept(r, t);
+						return r;
+					}, (a, b) -> {
+						combiner.accept(a, b);
+						return a;
+					})
+					: supplier.get());
+		}
+
+		private <R> R fold(final int start, final int end, final Supplier<R> identity, final BiFunction<R, T, R> accumulator, final BinaryOperator<R> combiner) {
+			final long started = System.nanoTime();
+			try {
+				return chunked(start, end, identity, accumulator, combiner, Math.max(1, (end - start) / (parallelism() * CHUNKS_PER_WORKER)));
+			} finally {
+				metrics.record("par.fold.nanos", System.nanoTime() - started);
+			}
+		}
+
+		private <R> R chunked(final int start, final int end, final Supplier<R> identity, final BiFunction<R, T, R> accumulator, final BinaryOperator<R> combiner, final int chunk) {
+			if (list.splittable() && es instanceof ForkJoinPool) {
+				return ((ForkJoinPool) es).invoke(new Chunk<>(list, start, end, chunk, identity, accumulator, combiner));
+			}
+			final Future<R>[] futures = futures((end - start + chunk - 1) / chunk);
+			if (list.splittable()) {
+				for (int i = 0; i < futures.length; i ++) {
+					final int lo = start + i * chunk;
+					final int hi = Math.min(end, lo + chunk);
+					futures[i] = submit(() -> Chunk.fold(list, lo, hi, identity, accumulator));
+				}
 			} else {
-				head.forIndex(index, action);
+				final AtomicReference<java.lang.Object[]> batch = new AtomicReference<>(new java.lang.Object[chunk]);
+				final AtomicInteger filled = new AtomicInteger();
+				final AtomicInteger submitted = new AtomicInteger();
+				list.forEach(start, end, t -> {
+					batch.get()[filled.getAndIncrement()] = t;
+					if (filled.get() == batch.get().length) {
+						futures[submitted.getAndIncrement()] = submit(batch.get(), identity, accumulator);
+						batch.set(new java.lang.Object[Math.max(0, Math.min(chunk, end - start - submitted.get() * chunk))]);
+						filled.set(0);
+					}
+				});
+			}
+			R result = waitFor(futures[0]);
+			for (int i = 1; i < futures.length; i ++) {
+				result = combiner.apply(result, waitFor(futures[i]));
+			}
+			return result;
+		}
+
+		@SuppressWarnings("unchecked")
+		private static <R> Future<R>[] futures(final int n) {
+			return (Future<R>[]) new Future<?>[n];
+		}
+
+		@SuppressWarnings("unchecked")
+		private <R> Future<R> submit(final java.lang.Object[] batch, final Supplier<R> identity, final BiFunction<R, T, R> accumulator) {
+			return submit(() -> {
+				R result = identity.get();
+				for (final java.lang.Object t : batch) {
+					result = accumulator.apply(result, (T) t);
+				}
+				return result;
+			});
+		}
+
+		/**
+		 * Submits to the executor, recording how long the task waited in its
+		 * queue before a worker picked it up.
+		 */
+		private <R> Future<R> submit(final Callable<R> task) {
+			if (metrics == Metrics.none()) {
+				return es.submit(task);
+			}
+			metrics.count("par.tasks", 1);
+			final long queued = System.nanoTime();
+			return es.submit(() -> {
+				metrics.record("par.queued.nanos", System.nanoTime() - queued);
+				return task.call();
+			});
+		}
+
+		private int parallelism() {
+			return es instanceof ForkJoinPool
+					? ((ForkJoinPool) es).getParallelism()
+					: Runtime.getRuntime().availableProcessors();
+		}
+
+		static <R> R waitFor(final Future<R> future) {
+			try {
+				return future.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new RuntimeException(e);
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) e.getCause();
+				}
+				throw new RuntimeException(e.getCause());
+			}
+		}
+
+		final static class Chunk<T, R> extends RecursiveTask<R> {
+
+			private static final long serialVersionUID = 1L;
+
+			private final List<T> list;
+			private final int start;
+			private final int end;
+			private final int chunk;
+			private final Supplier<R> identity;
+			private final BiFunction<R, T, R> accumulator;
+			private final BinaryOperator<R> combiner;
+
+			Chunk (final List<T> list, final int start, final int end, final int chunk,
+					final Supplier<R> identity, final BiFunction<R, T, R> accumulator, final BinaryOperator<R> combiner) {
+				this.list = list;
+				this.start = start;
+				this.end = end;
+				this.chunk = chunk;
+				this.identity = identity;
+				this.accumulator = accumulator;
+				this.combiner = combiner;
+			}
+
+			static <T, R> R fold(final List<T> list, final int start, final int end, final Supplier<R> identity, final BiFunction<R, T, R> accumulator) {
+				final AtomicReference<R> result = new AtomicReference<>(identity.get());
+				list.forEach(start, end, t -> result.lazySet(accumulator.apply(result.get(), t)));
+				return result.get();
+			}
+
+			@Override
+			protected R compute() {
+				if (end - start <= chunk || getSurplusQueuedTaskCount() > MAX_SURPLUS_TASKS) {
+					return fold(list, start, end, identity, accumulator);
+				}
+				final int mid = (start + end) >>> 1;
+				final Chunk<T, R> right = new Chunk<>(list, mid, end, chunk, identity, accumulator, combiner);
+				right.fork();
+				final R left = new Chunk<>(list, start, mid, chunk, identity, accumulator, combiner).compute();
+				return combiner.apply(left, right.join());
 			}
 		}
     }
+    
+    static List<Void> EMPTY = new Empty();
+    
+    /**
+     * Elements encoded by a {@link Codec} into direct buffers of at most
+     * {@code chunkBytes} each, with an off-heap index of (chunk, offset)
+     * positions. Records never straddle chunks, so the heap only holds the
+     * chunk arrays regardless of the number of elements.
+     */
+    final static class OffHeap<T> implements List<T> {
 
-    final static class Par<T> implements List<T> {
+    	static final int CHUNK_BYTES = 1 << 30;
+    	private static final int INDEX_ENTRIES = 1 << 27;
+
+    	private final Codec<T> codec;
+    	private final int size;
+    	private final ByteBuffer[] chunks;
+    	private final ByteBuffer[] index;
+
+    	OffHeap (final Codec<T> codec, final List<T> list, final int chunkBytes) {
+    		this.codec = codec;
+    		this.size = list.size();
+    		this.index = new ByteBuffer[(size + INDEX_ENTRIES - 1) / INDEX_ENTRIES];
+    		for (int i = 0; i < index.length; i ++) {
+    			final int entries = Math.min(INDEX_ENTRIES, size - i * INDEX_ENTRIES);
+    			index[i] = ByteBuffer.allocateDirect(entries * Long.BYTES);
+    		}
+
+    		final AtomicReference<int[]> used = new AtomicReference<>(new int[] {0});
+    		final AtomicInteger count = new AtomicInteger();
+    		list.forEach(t -> {
+    			final int bytes = codec.sizeOf(t);
+    			if (bytes > chunkBytes) {
+    				throw new IllegalArgumentException("element larger than chunk size");
+    			}
+    			int[] sizes = used.get();
+    			int chunk = sizes.length - 1;
+    			if (sizes[chunk] + bytes > chunkBytes) {
+    				sizes = Arrays.copyOf(sizes, sizes.length + 1);
+    				used.set(sizes);
+    				chunk ++;
+    			}
+    			position(count.getAndIncrement(), ((long) chunk << 32) | sizes[chunk]);
+    			sizes[chunk] += bytes;
+    		});
+
+    		final int[] sizes = used.get();
+    		this.chunks = new ByteBuffer[sizes.length];
+    		for (int i = 0; i < sizes.length; i ++) {
+    			chunks[i] = ByteBuffer.allocateDirect(sizes[i]);
+    		}
+    		count.set(0);
+    		list.forEach(t -> {
+    			final long position = position(count.getAndIncrement());
+    			codec.encode(t, chunks[(int) (position >>> 32)], (int) position);
+    		});
+    	}
+
+    	private void position(final int i, final long position) {
+    		index[i / INDEX_ENTRIES].putLong((i % INDEX_ENTRIES) * Long.BYTES, position);
+    	}
+
+    	private long position(final int i) {
+    		return index[i / INDEX_ENTRIES].getLong((i % INDEX_ENTRIES) * Long.BYTES);
+    	}
+
+    	private T decode(final int i) {
+    		final long position = position(i);
+    		return codec.decode(chunks[(int) (position >>> 32)], (int) position);
+    	}
+
+		@Override
+		public void forEach(final Consumer<T> action) {
+			for (int i = 0; i < size; i ++) {
+				action.accept(decode(i));
+			}
+		}
+
+		@Override
+		public void forEach(int start, int end, Consumer<T> action) throws IndexOutOfBoundsException {
+			if ((start < 0 || start >= size) ||
+				(end <= 0 || end > size) ||
+				(start >= end)) {
+				throw new IndexOutOfBoundsException("index out of range.");
+			}
+			for (int i = start; i < end; i ++) {
+				action.accept(decode(i));
+			}
+		}
+
+		@Override
+		public void forIndex(int index, Consumer<T> action) throws IndexOutOfBoundsException {
+			if (index < 0 || index >= size) {
+				throw new IndexOutOfBoundsException("index out of range");
+			}
+			action.accept(decode(index));
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public boolean splittable() {
+			return true;
+		}
+    }
+    
+    /**
+     * Decorator reporting, per operation, the number of calls, the elements
+     * visited and the latency in nanoseconds to a {@link Metrics} sink, plus
+     * a count of rejected out of range requests.
+     */
+    final static class Instrumented<T> implements List<T> {
 
     	private final List<T> list;
-		private final ExecutorService es;
+    	private final Metrics metrics;
 
-		Par (final ExecutorService es, final List<T> list) {
-    		this.es = es;
+    	Instrumented (final List<T> list, final Metrics metrics) {
     		this.list = list;
+    		this.metrics = metrics;
     	}
-    	
+
 		@Override
 		public void forEach(final Consumer<T> action) {
-			final AtomicReference<List<Future<?>>> futures = new AtomicReference<>(List.empty());
-			list.forEach(t -> {
-				futures.set(List.tailList(futures.get(), es.submit(() -> action.accept(t))));
-			});
-			
-			waitForResult(futures);
+			final long[] visited = {0};
+			final long started = System.nanoTime();
+			try {
+				list.forEach(t -> {
+					visited[0] ++;
+					action.accept(t);
+				});
+			} finally {
+				done("list.forEach", started, visited[0]);
+			}
 		}
 
-		private void waitForResult(final AtomicReference<List<Future<?>>> futures) {
-			futures.get().forEach(f -> {
-				try {
-					f.get();
-				} catch (InterruptedException | ExecutionException e) {
-					throw new RuntimeException(e);
-				}
-			});
+		@Override
+		public void forEach(final int start, final int end, final Consumer<T> action) throws IndexOutOfBoundsException {
+			final long[] visited = {0};
+			final long started = System.nanoTime();
+			try {
+				list.forEach(start, end, t -> {
+					visited[0] ++;
+					action.accept(t);
+				});
+			} catch (IndexOutOfBoundsException e) {
+				metrics.count("list.outOfRange", 1);
+				throw e;
+			} finally {
+				done("list.range", started, visited[0]);
+			}
 		}
 
 		@Override
-		public void forEach(int start, int end, Consumer<T> action) throws IndexOutOfBoundsException {
-			final AtomicReference<List<Future<?>>> futures = new AtomicReference<>(List.empty());
-			list.forEach(start, end, t -> {
-				futures.set(List.tailList(futures.get(), es.submit(() -> action.accept(t))));
-			});
-			
-			waitForResult (futures);
+		public void forIndex(final int index, final Consumer<T> action) throws IndexOutOfBoundsException {
+			final long[] visited = {0};
+			final long started = System.nanoTime();
+			try {
+				list.forIndex(index, t -> {
+					visited[0] ++;
+					action.accept(t);
+				});
+			} catch (IndexOutOfBoundsException e) {
+				metrics.count("list.outOfRange", 1);
+				throw e;
+			} finally {
+				done("list.forIndex", started, visited[0]);
+			}
 		}
 
 		@Override
-		public void forIndex(int index, Consumer<T> action) throws IndexOutOfBoundsException {
-			
-			final AtomicReference<Future<?>> future = new AtomicReference<>();
-			
-			list.forIndex(index, t -> future.set(es.submit(() -> action.accept(t))));
-			
-			es.submit(() -> future.get());
+		public int size() {
+			return list.size();
+		}
+
+		@Override
+		public boolean splittable() {
+			return list.splittable();
+		}
+
+		private void done(final String operation, final long started, final long visited) {
+			metrics.record(operation + ".nanos", System.nanoTime() - started);
+			metrics.count(operation + ".calls", 1);
+			metrics.count(operation + ".elements", visited);
 		}
-    	
     }
     
-    static List<Void> EMPTY = new Empty();
-    
-    final static class Cons<T> implements List<T> {
-        private final T one;
-        private final List<T> list;
-        private final int endIndex;
+    /**
+     * Mapped view backed by a direct mapped cache indexed by element
+     * position: index {@code i} lives in slot {@code i mod capacity}, so a
+     * traversal keeps the last {@code capacity} results and a colliding
+     * index evicts the older one. A miss installs a pending entry before
+     * computing, and concurrent readers of that index wait for it instead of
+     * computing again. A failed computation is not cached.
+     */
+    final static class Memoized<T, R> implements List<R> {
 
-        Cons(final List<T> list, final T one) {
-            this.list = list;
-            this.one = one;        
-            endIndex = sizeOf (list) - 1;
-        }
+    	private final List<T> list;
+    	private final Function<T, R> fn;
+    	private final AtomicReferenceArray<Entry<R>> cache;
+    	private final int mask;
+    	private final LongAdder hits = new LongAdder();
+    	private final LongAdder misses = new LongAdder();
+
+    	Memoized (final List<T> list, final Function<T, R> fn, final int maxEntries) {
+    		this.list = list;
+    		this.fn = fn;
+    		int capacity = 1;
+    		while (capacity < maxEntries && capacity < 1 << 30) {
+    			capacity <<= 1;
+    		}
+    		this.cache = new AtomicReferenceArray<>(capacity);
+    		this.mask = capacity - 1;
+    	}
 
-        private int sizeOf(List<T> list2) {
-			final AtomicInteger counter = new AtomicInteger(0);
-			list2.forEach(t -> counter.incrementAndGet());
-			return counter.get();
+    	public long hits() {
+    		return hits.sum();
+    	}
+
+    	public long misses() {
+    		return misses.sum();
+    	}
+
+    	private R value(final int index, final IntFunction<T> element) {
+    		final int slot = index & mask;
+    		while (true) {
+    			final Entry<R> entry = cache.get(slot);
+    			if (entry != null && entry.index == index) {
+    				hits.increment();
+    				return Par.waitFor(entry);
+    			}
+    			final Entry<R> created = new Entry<>(index);
+    			if (cache.compareAndSet(slot, entry, created)) {
+    				misses.increment();
+    				try {
+    					final R result = fn.apply(element.apply(index));
+    					created.complete(result);
+    					return result;
+    				} catch (RuntimeException | Error e) {
+    					created.completeExceptionally(e);
+    					cache.compareAndSet(slot, created, null);
+    					throw e;
+    				}
+    			}
+    		}
+    	}
+
+    	@SuppressWarnings("unchecked")
+    	private T element(final int index) {
+    		final java.lang.Object[] element = new java.lang.Object[1];
+    		list.forIndex(index, t -> element[0] = t);
+    		return (T) element[0];
+    	}
+
+		@Override
+		public void forEach(final Consumer<R> action) {
+			final int[] index = {0};
+			list.forEach(t -> action.accept(value(index[0] ++, i -> t)));
 		}
 
 		@Override
-        public void forEach(Consumer<T> action) {
-            action.accept(one);
-            list.forEach(action);            
-        }
+		public void forEach(final int start, final int end, final Consumer<R> action) throws IndexOutOfBoundsException {
+			final int[] index = {start};
+			list.forEach(start, end, t -> action.accept(value(index[0] ++, i -> t)));
+		}
 
-        @Override
-        public void forEach(int start, int end, Consumer<T> action)
-            throws IndexOutOfBoundsException {
-        	if (endIndex == -1 && end == 1 && start == 0) { //empty tail 
-        		action.accept(one);
-        	} else if (end > endIndex + 2) { //end index greater than tial + j
-        		throw new IndexOutOfBoundsException("index out of range");
-        	} else if (end <= endIndex + 2) { //end index equal to last value of tail list.
-        		if (start == 0) {
-                 	action.accept(one);
-                 	list.forEach(start, end - 1, action);
-                 } else {
-                	 list.forEach(start - 1, end - 1, action);
-                 }
-            }
-        }
+		@Override
+		public void forIndex(final int index, final Consumer<R> action) throws IndexOutOfBoundsException {
+			if (index < 0 || index >= list.size()) {
+				throw new IndexOutOfBoundsException("index out of range");
+			}
+			action.accept(value(index, this::element));
+		}
 
-        @Override
-        public void forIndex(int index, Consumer<T> action) throws IndexOutOfBoundsException {
-            if (index == 0)
-                action.accept(one);
-            else {
-                list.forIndex (index - 1, action);
-            }
-        }
+		@Override
+		public int size() {
+			return list.size();
+		}
+
+		@Override
+		public boolean splittable() {
+			return list.splittable();
+		}
+
+		final static class Entry<R> extends CompletableFuture<R> {
+			final int index;
+
+			Entry (final int index) {
+				this.index = index;
+			}
+		}
     }
     
     final static class Mapped<T, R> implements List<R> {
@@ -276,6 +919,14 @@ public interface List<T> {
             this.fn = fn;
         }
         
+        <S> List<S> andThen (final Function<R, S> next) {
+        	return new Mapped<>(list, fn.andThen(next));
+        }
+        
+        <S> List<S> andThenFlat (final Function<R, List<S>> next) {
+        	return new FlatMapped<>(list, fn.andThen(next));
+        }
+        
         @Override
         public void forEach(Consumer<R> action) {
             list.forEach(t -> action.accept(fn.apply(t)));
@@ -290,106 +941,437 @@ public interface List<T> {
         @Override
         public void forIndex(int index, Consumer<R> action) throws IndexOutOfBoundsException {
             list.forIndex (index, t -> action.accept(fn.apply(t)));
-        }           
+        }
+
+        @Override
+        public int size() {
+            return list.size();
+        }
+
+        @Override
+        public boolean splittable() {
+            return list.splittable();
+        }
     }
     
     final static class Repeated<T> implements List<T> {
 
-        private final List<T> list;
+        private final int size;
+        private final T value;
 
-        @SuppressWarnings("unchecked")
 		Repeated (final int n, final T value) {
-            java.lang.Object values[] = new java.lang.Object[n];
-            for (int i = 0; i < values.length; i ++) {
-                values[i] = value;
-            }
-            this.list = (List<T>) List.of(values);
+            this.size = n;
+            this.value = value;
         }
         
         @Override
         public void forEach(Consumer<T> action) {
-            list.forEach(action);
+            for (int i = 0; i < size; i ++) {
+            	action.accept(value);
+            }
         }
 
         @Override
         public void forEach(int start, int end, Consumer<T> action)
             throws IndexOutOfBoundsException {
-            list.forEach(start, end, action);
+        	if ((start < 0 || start >= size) ||
+        		(end <= 0 || end > size) ||
+        		(start >= end)) {
+        		throw new IndexOutOfBoundsException("index out of range.");
+        	}
+            for (int i = start; i < end; i ++) {
+            	action.accept(value);
+            }
         }
 
         @Override
         public void forIndex(int index, Consumer<T> action) throws IndexOutOfBoundsException {
-            list.forIndex(index, action);
+        	if (index < 0 || index >= size) {
+        		throw new IndexOutOfBoundsException("index out of range");
+        	}
+            action.accept(value);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean splittable() {
+            return true;
         }
-        
     }
     
+    final static class Range implements List<Integer> {
+
+    	private final int from;
+    	private final int size;
+
+    	Range (final int from, final int size) {
+    		this.from = from;
+    		this.size = size;
+    	}
+
+		@Override
+		public void forEach(final Consumer<Integer> action) {
+			for (int i = 0; i < size; i ++) {
+				action.accept(from + i);
+			}
+		}
+
+		@Override
+		public void forEach(final int start, final int end, final Consumer<Integer> action) throws IndexOutOfBoundsException {
+			if ((start < 0 || start >= size) ||
+				(end <= 0 || end > size) ||
+				(start >= end)) {
+				throw new IndexOutOfBoundsException("index out of range.");
+			}
+			for (int i = start; i < end; i ++) {
+				action.accept(from + i);
+			}
+		}
+
+		@Override
+		public void forIndex(final int index, final Consumer<Integer> action) throws IndexOutOfBoundsException {
+			if (index < 0 || index >= size) {
+				throw new IndexOutOfBoundsException("index out of range");
+			}
+			action.accept(from + index);
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public boolean splittable() {
+			return true;
+		}
+    }
+    
+    final static class Tabulated<T> implements List<T> {
+
+    	private final int size;
+    	private final IntFunction<T> fn;
+
+    	Tabulated (final int n, final IntFunction<T> fn) {
+    		this.size = n;
+    		this.fn = fn;
+    	}
+
+		@Override
+		public void forEach(final Consumer<T> action) {
+			for (int i = 0; i < size; i ++) {
+				action.accept(fn.apply(i));
+			}
+		}
+
+		@Override
+		public void forEach(final int start, final int end, final Consumer<T> action) throws IndexOutOfBoundsException {
+			if ((start < 0 || start >= size) ||
+				(end <= 0 || end > size) ||
+				(start >= end)) {
+				throw new IndexOutOfBoundsException("index out of range.");
+			}
+			for (int i = start; i < end; i ++) {
+				action.accept(fn.apply(i));
+			}
+		}
+
+		@Override
+		public void forIndex(final int index, final Consumer<T> action) throws IndexOutOfBoundsException {
+			if (index < 0 || index >= size) {
+				throw new IndexOutOfBoundsException("index out of range");
+			}
+			action.accept(fn.apply(index));
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public boolean splittable() {
+			return true;
+		}
+    }
+    
+    /**
+     * Lazy flat map. Sub lists are produced on demand during traversal.
+     * Indexed access scans the source only as far as the requested index,
+     * in batches that double in size, and keeps the sub lists and their
+     * cumulative sizes for the scanned prefix, so {@code fn} runs once per
+     * source element on indexed paths. {@link #size()} scans the whole
+     * source on its first call, and the view is splittable only once that
+     * scan is complete.
+     */
     final static class FlatMapped<T, R> implements List<R> {
-        private final List<R> list;
+        private final List<T> list;
+        private final Function<T, List<R>> fn;
+        private int[] sums = {0};
+        private java.lang.Object[] parts = {};
+        private int scanned;
+        private volatile Prefix prefix = new Prefix(sums, parts, 0);
        
         FlatMapped (final List<T> list, final Function<T, List<R>> fn) {
-        	final AtomicReference<List<R>> l = new AtomicReference<>(List.empty());
-            list.forEach(t -> fn.apply(t).forEach(t1 -> {
-                l.set(List.tailList(l.get(), t1));
-            }));
-            
-            this.list = l.get();
+        	this.list = list;
+        	this.fn = fn;
+        }
+        
+        <S> List<S> andThen (final Function<R, S> next) {
+        	return new FlatMapped<>(list, t -> List.mapped(next, fn.apply(t)));
+        }
+
+        /**
+         * Sub lists of the first {@code scanned} source elements and their
+         * cumulative sizes; entries below {@code scanned} never change.
+         */
+        final static class Prefix {
+        	final int[] sums;
+        	final java.lang.Object[] parts;
+        	final int scanned;
+
+        	Prefix (final int[] sums, final java.lang.Object[] parts, final int scanned) {
+        		this.sums = sums;
+        		this.parts = parts;
+        		this.scanned = scanned;
+        	}
+
+        	int size() {
+        		return sums[scanned];
+        	}
+
+        	@SuppressWarnings("unchecked")
+        	<R> List<R> part(final int k) {
+        		return (List<R>) parts[k];
+        	}
+
+        	int owner(final int index) {
+        		int low = 0;
+        		int high = scanned;
+        		while (low < high) {
+        			final int mid = (low + high) >>> 1;
+        			if (sums[mid] <= index) {
+        				low = mid + 1;
+        			} else {
+        				high = mid;
+        			}
+        		}
+        		return low - 1;
+        	}
+        }
+
+        /**
+         * Prefix covering {@code index}, or the whole source if it is
+         * shorter.
+         */
+        private Prefix prefix(final int index) {
+        	Prefix result = prefix;
+        	if (result.size() > index || result.scanned == list.size()) {
+        		return result;
+        	}
+        	synchronized (this) {
+        		final int size = list.size();
+        		while (sums[scanned] <= index && scanned < size) {
+        			final int end = (int) Math.min(size, 2L * scanned + 1);
+        			if (sums.length <= end) {
+        				sums = Arrays.copyOf(sums, Math.min(size, 2 * end) + 1);
+        				parts = Arrays.copyOf(parts, Math.min(size, 2 * end));
+        			}
+        			list.forEach(scanned, end, t -> {
+        				final List<R> part = fn.apply(t);
+        				parts[scanned] = part;
+        				sums[scanned + 1] = sums[scanned] + part.size();
+        				scanned ++;
+        			});
+        		}
+        		prefix = result = new Prefix(sums, parts, scanned);
+        	}
+        	return result;
         }
 
         @Override
         public void forEach(final Consumer<R> action) {
-            list.forEach(action);
+            list.forEach(t -> fn.apply(t).forEach(action));
         }
 
         @Override
         public void forEach(int start, int end, Consumer<R> action)
             throws IndexOutOfBoundsException {
-            list.forEach(start, end, action);
+        	if (start < 0 || end <= 0 || start >= end) {
+        		throw new IndexOutOfBoundsException("index out of range.");
+        	}
+        	final Prefix prefix = prefix(end - 1);
+        	if (end > prefix.size()) {
+        		throw new IndexOutOfBoundsException("index out of range.");
+        	}
+        	final int last = prefix.owner(end - 1);
+        	for (int k = prefix.owner(start); k <= last; k ++) {
+        		final int from = Math.max(start - prefix.sums[k], 0);
+        		final int to = Math.min(end, prefix.sums[k + 1]) - prefix.sums[k];
+        		if (from < to) {
+        			prefix.<R>part(k).forEach(from, to, action);
+        		}
+        	}
         }
 
         @Override
         public void forIndex(int index, Consumer<R> action) throws IndexOutOfBoundsException {
-            list.forIndex(index, action);
-        }            
+        	if (index < 0) {
+        		throw new IndexOutOfBoundsException("index out of range");
+        	}
+        	final Prefix prefix = prefix(index);
+        	if (index >= prefix.size()) {
+        		throw new IndexOutOfBoundsException("index out of range");
+        	}
+        	final int k = prefix.owner(index);
+        	prefix.<R>part(k).forIndex(index - prefix.sums[k], action);
+        }
+
+        /**
+         * O(n) on the first call, which evaluates {@code fn} for every
+         * source element; O(1) afterwards.
+         */
+        @Override
+        public int size() {
+            return prefix(Integer.MAX_VALUE).size();
+        }
+
+        @Override
+        public boolean splittable() {
+            return prefix.scanned == list.size();
+        }
     }
     
-    final static class Popped<T> implements List<T> {
-
+    /**
+     * Lazy filter. Indexed access scans the source only as far as the
+     * requested index, in batches that double in size, and records the
+     * source positions of the matches in the scanned prefix; ranges and
+     * indices then go straight to those positions without testing the
+     * predicate again. {@link #size()} scans the whole source on its first
+     * call, and the view is splittable only once that scan is complete.
+     */
+    final static class Filtered<T> implements List<T> {
     	private final List<T> list;
-		private final int lastIndex;
+    	private final Predicate<T> predicate;
+    	private int[] positions = new int[16];
+    	private int count;
+    	private int scanned;
+    	private volatile Matches matches = new Matches(positions, 0, 0);
 
-		Popped (final List<T> stack) {
-    		this.list = stack;
-    		this.lastIndex = sizeOf(list) - 1;
+    	Filtered (final List<T> list, final Predicate<T> predicate) {
+    		this.list = list;
+    		this.predicate = predicate;
     	}
     	
-		private int sizeOf(List<T> list2) {
-			final AtomicInteger counter = new AtomicInteger();
-			list2.forEach(t -> counter.incrementAndGet());
-			return counter.get();
-		}
+    	List<T> and (final Predicate<T> next) {
+    		return new Filtered<>(list, predicate.and(next));
+    	}
+
+    	/**
+    	 * Source positions of the first {@code count} matches, found among
+    	 * the first {@code scanned} source elements.
+    	 */
+    	final static class Matches {
+    		final int[] positions;
+    		final int count;
+    		final int scanned;
+
+    		Matches (final int[] positions, final int count, final int scanned) {
+    			this.positions = positions;
+    			this.count = count;
+    			this.scanned = scanned;
+    		}
+    	}
+
+    	/**
+    	 * Matches covering {@code index}, or all of them if there are fewer.
+    	 */
+    	private Matches matches(final int index) {
+    		Matches result = matches;
+    		if (result.count > index || result.scanned == list.size()) {
+    			return result;
+    		}
+    		synchronized (this) {
+    			final int size = list.size();
+    			while (count <= index && scanned < size) {
+    				final int end = (int) Math.min(size, 2L * scanned + 1);
+    				list.forEach(scanned, end, t -> {
+    					if (predicate.test(t)) {
+    						if (count == positions.length) {
+    							positions = Arrays.copyOf(positions, 2 * count);
+    						}
+    						positions[count ++] = scanned;
+    					}
+    					scanned ++;
+    				});
+    			}
+    			matches = result = new Matches(positions, count, scanned);
+    		}
+    		return result;
+    	}
 
 		@Override
-		public void forEach(Consumer<T> action) {
-			list.forIndex(lastIndex, action);
+		public void forEach(final Consumer<T> action) {
+			list.forEach(t -> {
+				if (predicate.test(t)) {
+					action.accept(t);
+				}
+			});
 		}
 
 		@Override
 		public void forEach(int start, int end, Consumer<T> action) throws IndexOutOfBoundsException {
-			if (start == 0 && end == 1) {
-				list.forIndex(lastIndex, action);
-			} else {
-				throw new IndexOutOfBoundsException("index out of range");
+			if (start < 0 || end <= 0 || start >= end) {
+				throw new IndexOutOfBoundsException("index out of range.");
 			}
+			final Matches matches = matches(end - 1);
+			if (end > matches.count) {
+				throw new IndexOutOfBoundsException("index out of range.");
+			}
+			final int[] positions = matches.positions;
+			if (list.splittable()) {
+				for (int i = start; i < end; i ++) {
+					list.forIndex(positions[i], action);
+				}
+				return;
+			}
+			final int[] cursor = {positions[start], start};
+			list.forEach(positions[start], positions[end - 1] + 1, t -> {
+				if (cursor[0] ++ == positions[cursor[1]]) {
+					cursor[1] ++;
+					action.accept(t);
+				}
+			});
 		}
 
 		@Override
 		public void forIndex(int index, Consumer<T> action) throws IndexOutOfBoundsException {
-			if (index == 0) {
-				list.forIndex(lastIndex, action);
-			} else {
+			if (index < 0) {
 				throw new IndexOutOfBoundsException("index out of range");
 			}
+			final Matches matches = matches(index);
+			if (index >= matches.count) {
+				throw new IndexOutOfBoundsException("index out of range");
+			}
+			list.forIndex(matches.positions[index], action);
+		}
+
+		/**
+		 * O(n) on the first call, which tests every source element; O(1)
+		 * afterwards.
+		 */
+		@Override
+		public int size() {
+			return matches(Integer.MAX_VALUE).count;
+		}
+
+		@Override
+		public boolean splittable() {
+			return list.splittable() && matches.scanned == list.size();
 		}
     }
     
@@ -428,7 +1410,17 @@ public interface List<T> {
         @Override
         public void forIndex(int index, Consumer<T> action) throws IndexOutOfBoundsException {
             action.accept(values[index]);
-        }            
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+
+        @Override
+        public boolean splittable() {
+            return true;
+        }
     }
     
     
@@ -453,5 +1445,10 @@ public interface List<T> {
             throws IndexOutOfBoundsException {
             throw new IndexOutOfBoundsException("index out of range");
         }
+
+        @Override
+        public int size() {
+            return 0;
+        }
     }   
 }
\ No newline at end of file
@@ -0,0 +1,248 @@
+package object.java.collections;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.LongConsumer;
+import java.util.function.LongUnaryOperator;
+
+public interface LongList {
+
+    void forEach (final LongConsumer action);
+
+    void forEach (final int start, final int end, final LongConsumer action) throws IndexOutOfBoundsException;
+
+    void forIndex (final int index, final LongConsumer action) throws IndexOutOfBoundsException;
+
+    int size ();
+
+    static LongList empty() {
+    	return Empty.INST;
+    }
+
+    static LongList of (final long...values) {
+    	if (values == null || values.length == 0)
+    		return empty();
+    	return new NonEmpty(values);
+    }
+
+    static LongList repeated (final int n, final long value) {
+    	if (n < 0) {
+    		throw new IllegalArgumentException("n must not be negative");
+    	}
+    	return new Repeated(n, value);
+    }
+
+    static LongList mapped (final LongUnaryOperator fn, final LongList list) {
+    	return new Mapped(list, fn);
+    }
+
+    static LongList par (final LongList list, final ExecutorService es) {
+    	return new Par(es, list);
+    }
+
+    final static class NonEmpty implements LongList {
+
+    	private final long[] values;
+
+    	NonEmpty (final long[] values) {
+    		this.values = values;
+    	}
+
+		@Override
+		public void forEach(final LongConsumer action) {
+			for (final long value : values) {
+				action.accept(value);
+			}
+		}
+
+		@Override
+		public void forEach(int start, int end, LongConsumer action) throws IndexOutOfBoundsException {
+			if ((start < 0 || start >= values.length) ||
+				(end <= 0 || end > values.length) ||
+				(start >= end)) {
+				throw new IndexOutOfBoundsException("index out of range.");
+			}
+			for (int i = start; i < end; i ++) {
+				action.accept(values[i]);
+			}
+		}
+
+		@Override
+		public void forIndex(int index, LongConsumer action) throws IndexOutOfBoundsException {
+			action.accept(values[index]);
+		}
+
+		@Override
+		public int size() {
+			return values.length;
+		}
+    }
+
+    final static class Repeated implements LongList {
+
+    	private final int n;
+    	private final long value;
+
+    	Repeated (final int n, final long value) {
+    		this.n = n;
+    		this.value = value;
+    	}
+
+		@Override
+		public void forEach(final LongConsumer action) {
+			for (int i = 0; i < n; i ++) {
+				action.accept(value);
+			}
+		}
+
+		@Override
+		public void forEach(int start, int end, LongConsumer action) throws IndexOutOfBoundsException {
+			if ((start < 0 || start >= n) ||
+				(end <= 0 || end > n) ||
+				(start >= end)) {
+				throw new IndexOutOfBoundsException("index out of range.");
+			}
+			for (int i = start; i < end; i ++) {
+				action.accept(value);
+			}
+		}
+
+		@Override
+		public void forIndex(int index, LongConsumer action) throws IndexOutOfBoundsException {
+			if (index < 0 || index >= n) {
+				throw new IndexOutOfBoundsException("index out of range");
+			}
+			action.accept(value);
+		}
+
+		@Override
+		public int size() {
+			return n;
+		}
+    }
+
+    final static class Mapped implements LongList {
+
+    	private final LongList list;
+    	private final LongUnaryOperator fn;
+
+    	Mapped (final LongList list, final LongUnaryOperator fn) {
+    		this.list = list;
+    		this.fn = fn;
+    	}
+
+		@Override
+		public void forEach(final LongConsumer action) {
+			list.forEach(t -> action.accept(fn.applyAsLong(t)));
+		}
+
+		@Override
+		public void forEach(int start, int end, LongConsumer action) throws IndexOutOfBoundsException {
+			list.forEach(start, end, t -> action.accept(fn.applyAsLong(t)));
+		}
+
+		@Override
+		public void forIndex(int index, LongConsumer action) throws IndexOutOfBoundsException {
+			list.forIndex(index, t -> action.accept(fn.applyAsLong(t)));
+		}
+
+		@Override
+		public int size() {
+			return list.size();
+		}
+    }
+
+    final static class Par implements LongList {
+
+    	private final ExecutorService es;
+    	private final LongList list;
+
+    	Par (final ExecutorService es, final LongList list) {
+    		this.es = es;
+    		this.list = list;
+    	}
+
+		@Override
+		public void forEach(final LongConsumer action) {
+			if (list.size() > 0) {
+				forEach(0, list.size(), action);
+			}
+		}
+
+		@Override
+		public void forEach(int start, int end, LongConsumer action) throws IndexOutOfBoundsException {
+			if ((start < 0 || start >= list.size()) ||
+				(end <= 0 || end > list.size()) ||
+				(start >= end)) {
+				throw new IndexOutOfBoundsException("index out of range.");
+			}
+			final int chunks = Math.min(end - start, parallelism());
+			final Future<?>[] futures = new Future<?>[chunks];
+			for (int c = 0; c < chunks; c ++) {
+				final int lo = start + (int) ((long) (end - start) * c / chunks);
+				final int hi = start + (int) ((long) (end - start) * (c + 1) / chunks);
+				futures[c] = es.submit(() -> list.forEach(lo, hi, action));
+			}
+			for (final Future<?> future : futures) {
+				waitFor(future);
+			}
+		}
+
+		@Override
+		public void forIndex(int index, LongConsumer action) throws IndexOutOfBoundsException {
+			waitFor(es.submit(() -> list.forIndex(index, action)));
+		}
+
+		@Override
+		public int size() {
+			return list.size();
+		}
+
+		private int parallelism() {
+			return es instanceof ForkJoinPool
+					? ((ForkJoinPool) es).getParallelism()
+					: Runtime.getRuntime().availableProcessors();
+		}
+
+		private static void waitFor(final Future<?> future) {
+			try {
+				future.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new RuntimeException(e);
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) e.getCause();
+				}
+				throw new RuntimeException(e.getCause());
+			}
+		}
+    }
+
+    static enum Empty implements LongList {
+    	INST
+    	;
+
+		@Override
+		public void forEach(final LongConsumer action) {
+			//DO NOTHING
+		}
+
+		@Override
+		public void forEach(int start, int end, LongConsumer action) throws IndexOutOfBoundsException {
+			throw new IndexOutOfBoundsException("index out of range");
+		}
+
+		@Override
+		public void forIndex(int index, LongConsumer action) throws IndexOutOfBoundsException {
+			throw new IndexOutOfBoundsException("index out of range");
+		}
+
+		@Override
+		public int size() {
+			return 0;
+		}
+    }
+}
@@ -1,5 +1,9 @@
 package object.java.collections;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
@@ -27,64 +31,475 @@ public interface Map <K,V> {
     	}
     }
     
+    public static <K,V> Hashed<K,V> guarded (final K[] keys, final V[] values, final double falsePositiveRate) {
+    	assert (keys.length == values.length);
+    	return new Hashed<>(keys, values, falsePositiveRate);
+    }
+    
+    public static <K,V> Map<K,V> instrumented (final Map<K,V> map, final Metrics metrics) {
+    	return new Instrumented<>(map, metrics);
+    }
+    
+    /**
+     * Writes {@code map} to {@code path} in the layout {@link #open} reads.
+     */
+    public static <K,V> void write (final Codec<K> keys, final Codec<V> values, final Map<K,V> map, final Path path) throws IOException {
+    	MappedFile.writeMap(keys, values, map, path, MappedFile.CHUNK_BYTES);
+    }
+    
+    /**
+     * Memory maps a file written by {@link #write}; lookups probe the on disk
+     * hash table and decode only the entries they compare.
+     */
+    public static <K,V> Map<K,V> open (final Codec<K> keys, final Codec<V> values, final Path path) throws IOException {
+    	return MappedFile.openMap(keys, values, path);
+    }
+    
+    public static <K,V> Map<K,V> put (final Map<K,V> map, final K key, final V value) {
+    	return Trie.from(map).put(key, value);
+    }
+    
+    public static <K,V> Map<K,V> remove (final Map<K,V> map, final K key) {
+    	return Trie.from(map).remove(key);
+    }
+    
+    /**
+     * Open addressing with linear probing over parallel hash, key and value
+     * arrays. The capacity is the smallest power of two that keeps the load
+     * factor at or below {@link #LOAD_FACTOR}; a later duplicate key replaces
+     * the earlier value. When built with a false positive rate, a blocked
+     * {@link Bloom} filter over the key hashes answers most misses before the
+     * table is touched.
+     */
     final static class Hashed<K,V> implements Map<K,V> {
 
-    	private final V[] values;
-		private final K[] keys;
+    	static final float LOAD_FACTOR = 0.5f;
 
-		private final List<V>[] table;
+    	private final int[] hashes;
+    	private final java.lang.Object[] keys;
+    	private final java.lang.Object[] values;
+    	private final int mask;
+    	private final Bloom filter;
 		
 		Hashed (final K[] keys, final V[] values) {
-    		this.keys = keys;
-    		this.values = values;
-    		this.table = new List[values.length];
+			this(keys, values, 0);
+		}
+		
+		Hashed (final K[] keys, final V[] values, final double falsePositiveRate) {
+			int capacity = 2;
+			while (capacity * LOAD_FACTOR < keys.length) {
+				capacity <<= 1;
+			}
+			this.hashes = new int[capacity];
+			this.keys = new java.lang.Object[capacity];
+			this.values = new java.lang.Object[capacity];
+			this.mask = capacity - 1;
     		
+    		final int[] keyHashes = new int[keys.length];
     		for (int i = 0; i < keys.length; i ++) {
-    			final int hash = hash(keys[i]);
-    			final List<V> list = table[hash];
-    			if (list == null) {
-    				table[hash] = List.of(values[i]);
-    			} else {
-    				table[hash] = List.tailList(list, values[i]);
+    			final int hash = keyHashes[i] = hash(keys[i]);
+    			int slot = hash & mask;
+    			while (this.keys[slot] != null && !(hashes[slot] == hash && this.keys[slot].equals(keys[i]))) {
+    				slot = (slot + 1) & mask;
     			}
+    			this.hashes[slot] = hash;
+    			this.keys[slot] = keys[i];
+    			this.values[slot] = values[i];
     		}
+    		this.filter = falsePositiveRate > 0 ? Bloom.blocked(keyHashes, keyHashes.length, falsePositiveRate) : null;
     	}
 		
-		private int hash(final K object) {
-			int h = (h = object.hashCode()) ^ (h >>> 16);
-			return (int) h & (table.length - 1);	
+		public double falsePositiveRate() {
+			return filter == null ? 0 : filter.falsePositiveRate();
+		}
+		
+		static int hash(final java.lang.Object object) {
+			final int h = object.hashCode() * 0x9E3779B9;
+			return h ^ (h >>> 16);
 		}
     	
     	
+		@SuppressWarnings("unchecked")
 		@Override
 		public void forEach(final BiConsumer<K, V> action) {
 			for (int i = 0; i < keys.length; i ++) {
-				action.accept(keys[i], values[i]);
+				if (keys[i] != null) {
+					action.accept((K) keys[i], (V) values[i]);
+				}
 			}
 		}
 
+		@SuppressWarnings("unchecked")
 		@Override
 		public void forKey(final K key, final Consumer<V> action) {
-			if (table[hash(key)] != null) {
-				table[hash(key)].forEach(action);
+			final int hash = hash(key);
+			if (filter != null && !filter.mightContain(hash)) {
+				return;
+			}
+			for (int slot = hash & mask; keys[slot] != null; slot = (slot + 1) & mask) {
+				if (hashes[slot] == hash && keys[slot].equals(key)) {
+					action.accept((V) values[slot]);
+					return;
+				}
 			}
 		}
 
+		@SuppressWarnings("unchecked")
 		@Override
 		public void forEachKey(final Consumer<K> action) {
 			for (int i = 0; i < keys.length; i ++) {
-				action.accept(keys[i]);
+				if (keys[i] != null) {
+					action.accept((K) keys[i]);
+				}
 			}
 		}
 
+		@SuppressWarnings("unchecked")
 		@Override
 		public void forEachValue(final Consumer<V> action) {
-			for(int i = 0; i < values.length; i ++) {
-				action.accept(values[i]);
+			for (int i = 0; i < keys.length; i ++) {
+				if (keys[i] != null) {
+					action.accept((V) values[i]);
+				}
 			}
 		}    	
     }
     
+    /**
+     * Persistent hash array mapped trie. Each level consumes five bits of the
+     * hash and stores only the occupied slots, indexed through a bitmap; keys
+     * whose full hashes collide share a collision node. Updates copy just the
+     * nodes on the path to the key and share everything else with the
+     * previous version.
+     */
+    final static class Trie<K,V> implements Map<K,V> {
+
+    	private static final int BITS = 5;
+    	private static final int MASK = (1 << BITS) - 1;
+
+    	private static final Trie<?, ?> EMPTY_TRIE = new Trie<>(new Bitmapped(0, new java.lang.Object[0]));
+
+    	private final Bitmapped root;
+
+    	private Trie (final Bitmapped root) {
+    		this.root = root;
+    	}
+
+    	@SuppressWarnings("unchecked")
+		static <K,V> Trie<K,V> from (final Map<K,V> map) {
+    		if (map instanceof Trie) {
+    			return (Trie<K,V>) map;
+    		}
+    		final AtomicReference<Trie<K,V>> result = new AtomicReference<>((Trie<K,V>) EMPTY_TRIE);
+    		map.forEach((k, v) -> result.set(result.get().put(k, v)));
+    		return result.get();
+    	}
+
+    	Trie<K,V> put (final K key, final V value) {
+    		final Bitmapped updated = (Bitmapped) put(root, 0, new Entry(Hashed.hash(key), key, value));
+    		return updated == root ? this : new Trie<>(updated);
+    	}
+
+    	@SuppressWarnings("unchecked")
+		Trie<K,V> remove (final K key) {
+    		final java.lang.Object updated = remove(root, 0, Hashed.hash(key), key);
+    		if (updated == root) {
+    			return this;
+    		}
+    		return updated == null ? (Trie<K,V>) EMPTY_TRIE : new Trie<>((Bitmapped) updated);
+    	}
+
+    	private static java.lang.Object put (final java.lang.Object node, final int shift, final Entry entry) {
+    		if (node instanceof Collision) {
+    			final Collision collision = (Collision) node;
+    			if (collision.hash != entry.hash) {
+    				return merge(collision, collision.hash, entry, shift);
+    			}
+    			for (int i = 0; i < collision.entries.length; i ++) {
+    				if (collision.entries[i].key.equals(entry.key)) {
+    					if (collision.entries[i].value == entry.value) {
+    						return collision;
+    					}
+    					final Entry[] entries = collision.entries.clone();
+    					entries[i] = entry;
+    					return new Collision(collision.hash, entries);
+    				}
+    			}
+    			final Entry[] entries = Arrays.copyOf(collision.entries, collision.entries.length + 1);
+    			entries[collision.entries.length] = entry;
+    			return new Collision(collision.hash, entries);
+    		}
+
+    		final Bitmapped bitmapped = (Bitmapped) node;
+    		final int bit = 1 << ((entry.hash >>> shift) & MASK);
+    		final int index = Integer.bitCount(bitmapped.bitmap & (bit - 1));
+    		if ((bitmapped.bitmap & bit) == 0) {
+    			final java.lang.Object[] slots = new java.lang.Object[bitmapped.slots.length + 1];
+    			System.arraycopy(bitmapped.slots, 0, slots, 0, index);
+    			slots[index] = entry;
+    			System.arraycopy(bitmapped.slots, index, slots, index + 1, bitmapped.slots.length - index);
+    			return new Bitmapped(bitmapped.bitmap | bit, slots);
+    		}
+
+    		final java.lang.Object child = bitmapped.slots[index];
+    		final java.lang.Object updated;
+    		if (child instanceof Entry) {
+    			final Entry existing = (Entry) child;
+    			if (existing.hash == entry.hash && existing.key.equals(entry.key)) {
+    				updated = existing.value == entry.value ? existing : entry;
+    			} else {
+    				updated = merge(existing, existing.hash, entry, shift + BITS);
+    			}
+    		} else {
+    			updated = put(child, shift + BITS, entry);
+    		}
+    		return updated == child ? bitmapped : bitmapped.with(index, updated);
+    	}
+
+    	private static java.lang.Object merge (final java.lang.Object existing, final int hash, final Entry entry, final int shift) {
+    		if (hash == entry.hash) {
+    			return new Collision(hash, new Entry[] {(Entry) existing, entry});
+    		}
+    		final int left = (hash >>> shift) & MASK;
+    		final int right = (entry.hash >>> shift) & MASK;
+    		if (left == right) {
+    			return new Bitmapped(1 << left, new java.lang.Object[] {merge(existing, hash, entry, shift + BITS)});
+    		}
+    		return new Bitmapped((1 << left) | (1 << right), left < right
+    				? new java.lang.Object[] {existing, entry}
+    				: new java.lang.Object[] {entry, existing});
+    	}
+
+    	/**
+    	 * Returns the node itself when the key is absent, {@code null} when the
+    	 * node becomes empty, or a lone {@link Entry} that the parent inlines.
+    	 */
+    	private static java.lang.Object remove (final java.lang.Object node, final int shift, final int hash, final java.lang.Object key) {
+    		if (node instanceof Collision) {
+    			final Collision collision = (Collision) node;
+    			for (int i = 0; i < collision.entries.length; i ++) {
+    				if (collision.entries[i].key.equals(key)) {
+    					if (collision.entries.length == 2) {
+    						return collision.entries[1 - i];
+    					}
+    					final Entry[] entries = new Entry[collision.entries.length - 1];
+    					System.arraycopy(collision.entries, 0, entries, 0, i);
+    					System.arraycopy(collision.entries, i + 1, entries, i, entries.length - i);
+    					return new Collision(collision.hash, entries);
+    				}
+    			}
+    			return collision;
+    		}
+
+    		final Bitmapped bitmapped = (Bitmapped) node;
+    		final int bit = 1 << ((hash >>> shift) & MASK);
+    		if ((bitmapped.bitmap & bit) == 0) {
+    			return bitmapped;
+    		}
+    		final int index = Integer.bitCount(bitmapped.bitmap & (bit - 1));
+    		final java.lang.Object child = bitmapped.slots[index];
+    		final java.lang.Object updated;
+    		if (child instanceof Entry) {
+    			final Entry existing = (Entry) child;
+    			updated = existing.hash == hash && existing.key.equals(key) ? null : existing;
+    		} else {
+    			updated = remove(child, shift + BITS, hash, key);
+    		}
+    		if (updated == child) {
+    			return bitmapped;
+    		}
+    		if (updated == null) {
+    			if (bitmapped.slots.length == 1) {
+    				return null;
+    			}
+    			final java.lang.Object[] slots = new java.lang.Object[bitmapped.slots.length - 1];
+    			System.arraycopy(bitmapped.slots, 0, slots, 0, index);
+    			System.arraycopy(bitmapped.slots, index + 1, slots, index, slots.length - index);
+    			if (shift > 0 && slots.length == 1 && slots[0] instanceof Entry) {
+    				return slots[0];
+    			}
+    			return new Bitmapped(bitmapped.bitmap & ~bit, slots);
+    		}
+    		if (shift > 0 && bitmapped.slots.length == 1 && updated instanceof Entry) {
+    			return updated;
+    		}
+    		return bitmapped.with(index, updated);
+    	}
+
+    	@SuppressWarnings("unchecked")
+		private static <K,V> void each (final java.lang.Object node, final BiConsumer<K,V> action) {
+    		if (node instanceof Entry) {
+    			action.accept((K) ((Entry) node).key, (V) ((Entry) node).value);
+    		} else if (node instanceof Collision) {
+    			for (final Entry entry : ((Collision) node).entries) {
+    				action.accept((K) entry.key, (V) entry.value);
+    			}
+    		} else {
+    			for (final java.lang.Object slot : ((Bitmapped) node).slots) {
+    				each(slot, action);
+    			}
+    		}
+    	}
+
+		@Override
+		public void forEach(final BiConsumer<K, V> action) {
+			each(root, action);
+		}
+
+		@Override
+		public void forEachKey(final Consumer<K> action) {
+			each(root, (K k, V v) -> action.accept(k));
+		}
+
+		@Override
+		public void forEachValue(final Consumer<V> action) {
+			each(root, (K k, V v) -> action.accept(v));
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public void forKey(final K key, final Consumer<V> action) {
+			final int hash = Hashed.hash(key);
+			java.lang.Object node = root;
+			for (int shift = 0; node instanceof Bitmapped; shift += BITS) {
+				final Bitmapped bitmapped = (Bitmapped) node;
+				final int bit = 1 << ((hash >>> shift) & MASK);
+				if ((bitmapped.bitmap & bit) == 0) {
+					return;
+				}
+				node = bitmapped.slots[Integer.bitCount(bitmapped.bitmap & (bit - 1))];
+			}
+			if (node instanceof Entry) {
+				final Entry entry = (Entry) node;
+				if (entry.hash == hash && entry.key.equals(key)) {
+					action.accept((V) entry.value);
+				}
+			} else {
+				for (final Entry entry : ((Collision) node).entries) {
+					if (entry.key.equals(key)) {
+						action.accept((V) entry.value);
+						return;
+					}
+				}
+			}
+		}
+
+    	final static class Entry {
+    		final int hash;
+    		final java.lang.Object key;
+    		final java.lang.Object value;
+
+    		Entry (final int hash, final java.lang.Object key, final java.lang.Object value) {
+    			this.hash = hash;
+    			this.key = key;
+    			this.value = value;
+    		}
+    	}
+
+    	final static class Bitmapped {
+    		final int bitmap;
+    		final java.lang.Object[] slots;
+
+    		Bitmapped (final int bitmap, final java.lang.Object[] slots) {
+    			this.bitmap = bitmap;
+    			this.slots = slots;
+    		}
+
+    		Bitmapped with (final int index, final java.lang.Object slot) {
+    			final java.lang.Object[] copy = slots.clone();
+    			copy[index] = slot;
+    			return new Bitmapped(bitmap, copy);
+    		}
+    	}
+
+    	final static class Collision {
+    		final int hash;
+    		final Entry[] entries;
+
+    		Collision (final int hash, final Entry[] entries) {
+    			this.hash = hash;
+    			this.entries = entries;
+    		}
+    	}
+    }
+    
+    /**
+     * Decorator reporting calls, entries visited and latency in
+     * nanoseconds to a {@link Metrics} sink.
+     */
+    final static class Instrumented<K,V> implements Map<K,V> {
+    	
+    	private final Map<K,V> map;
+    	private final Metrics metrics;
+    	
+    	Instrumented (final Map<K,V> map, final Metrics metrics) {
+    		this.map = map;
+    		this.metrics = metrics;
+    	}
+    	
+		@Override
+		public void forEach(final BiConsumer<K, V> action) {
+			final long[] visited = {0};
+			final long started = System.nanoTime();
+			try {
+				map.forEach((k, v) -> {
+					visited[0] ++;
+					action.accept(k, v);
+				});
+			} finally {
+				done("map.forEach", started, visited[0]);
+			}
+		}
+		
+		@Override
+		public void forEachKey(final Consumer<K> action) {
+			final long[] visited = {0};
+			final long started = System.nanoTime();
+			try {
+				map.forEachKey(k -> {
+					visited[0] ++;
+					action.accept(k);
+				});
+			} finally {
+				done("map.forEachKey", started, visited[0]);
+			}
+		}
+		
+		@Override
+		public void forEachValue(final Consumer<V> action) {
+			final long[] visited = {0};
+			final long started = System.nanoTime();
+			try {
+				map.forEachValue(v -> {
+					visited[0] ++;
+					action.accept(v);
+				});
+			} finally {
+				done("map.forEachValue", started, visited[0]);
+			}
+		}
+		
+		@Override
+		public void forKey(final K key, final Consumer<V> action) {
+			final long[] visited = {0};
+			final long started = System.nanoTime();
+			try {
+				map.forKey(key, v -> {
+					visited[0] ++;
+					action.accept(v);
+				});
+			} finally {
+				done("map.forKey", started, visited[0]);
+			}
+		}
+		
+		private void done(final String operation, final long started, final long visited) {
+			metrics.record(operation + ".nanos", System.nanoTime() - started);
+			metrics.count(operation + ".calls", 1);
+			metrics.count(operation + ".elements", visited);
+		}
+    }
+    
     static enum Empty implements Map<Void, Void> {
 		INST
     	;
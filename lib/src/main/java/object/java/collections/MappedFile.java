@@ -0,0 +1,320 @@
+package object.java.collections;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Lists and maps stored in files and read through memory mappings. Opening
+ * a file only maps it, so the cost does not depend on its size, and lookups
+ * page in just the index entries and records they touch.
+ *
+ * Every file starts with a 32 byte header: magic, format version, chunk
+ * size, a reserved int, the element count and, for maps, the number of
+ * table slots. A list file continues with one 8 byte record offset per
+ * element followed by the encoded elements. A map file continues with an
+ * open addressing table of 16 byte slots, each holding the key record
+ * offset (0 when empty), the key hash and the encoded key length, followed
+ * by the encoded keys, each immediately followed by its value. The file is
+ * mapped in chunks of at most 1 GiB and no record crosses a chunk boundary.
+ */
+final class MappedFile {
+
+	static final int CHUNK_BYTES = 1 << 30;
+
+	private static final int LIST_MAGIC = 0x4F4A4C53;
+	private static final int MAP_MAGIC = 0x4F4A4D50;
+	private static final int VERSION = 1;
+	private static final int HEADER_BYTES = 32;
+	private static final int SLOT_BYTES = 16;
+
+	private MappedFile () {}
+
+	static <T> void writeList (final Codec<T> codec, final List<T> list, final Path path, final int chunkBytes) throws IOException {
+		final int size = list.size();
+		final long recordsStart = HEADER_BYTES + (long) size * Long.BYTES;
+		final long[] position = {recordsStart};
+		list.forEach(t -> position[0] = place(position[0], codec.sizeOf(t), chunkBytes) + codec.sizeOf(t));
+
+		try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+				StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			final Region region = new Region(channel, MapMode.READ_WRITE, position[0], chunkBytes);
+			header(region, LIST_MAGIC, chunkBytes, size, 0);
+			final int[] i = {0};
+			position[0] = recordsStart;
+			list.forEach(t -> {
+				final int bytes = codec.sizeOf(t);
+				final long at = place(position[0], bytes, chunkBytes);
+				region.putLong(HEADER_BYTES + (long) i[0] ++ * Long.BYTES, at);
+				codec.encode(t, region.chunk(at), region.offset(at));
+				position[0] = at + bytes;
+			});
+			region.force();
+		}
+	}
+
+	static <K,V> void writeMap (final Codec<K> keys, final Codec<V> values, final Map<K,V> map, final Path path, final int chunkBytes) throws IOException {
+		final long[] count = {0};
+		map.forEach((k, v) -> count[0] ++);
+		long slots = 2;
+		while (slots * Map.Hashed.LOAD_FACTOR < count[0]) {
+			slots <<= 1;
+		}
+		final long recordsStart = HEADER_BYTES + slots * SLOT_BYTES;
+		final long[] position = {recordsStart};
+		map.forEach((k, v) -> {
+			final int bytes = keys.sizeOf(k) + values.sizeOf(v);
+			position[0] = place(position[0], bytes, chunkBytes) + bytes;
+		});
+
+		try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+				StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			final Region region = new Region(channel, MapMode.READ_WRITE, position[0], chunkBytes);
+			header(region, MAP_MAGIC, chunkBytes, count[0], slots);
+			final long mask = slots - 1;
+			position[0] = recordsStart;
+			map.forEach((k, v) -> {
+				final int keyBytes = keys.sizeOf(k);
+				final int bytes = keyBytes + values.sizeOf(v);
+				final long at = place(position[0], bytes, chunkBytes);
+				keys.encode(k, region.chunk(at), region.offset(at));
+				values.encode(v, region.chunk(at), region.offset(at) + keyBytes);
+				position[0] = at + bytes;
+
+				final int hash = Map.Hashed.hash(k);
+				long slot = hash & mask;
+				while (region.getLong(HEADER_BYTES + slot * SLOT_BYTES) != 0) {
+					slot = (slot + 1) & mask;
+				}
+				final long entry = HEADER_BYTES + slot * SLOT_BYTES;
+				region.putLong(entry, at);
+				region.putInt(entry + Long.BYTES, hash);
+				region.putInt(entry + Long.BYTES + Integer.BYTES, keyBytes);
+			});
+			region.force();
+		}
+	}
+
+	static <T> List<T> openList (final Codec<T> codec, final Path path) throws IOException {
+		final Region region = open(path, LIST_MAGIC);
+		return new ListFile<>(codec, region, (int) region.getLong(16));
+	}
+
+	static <K,V> Map<K,V> openMap (final Codec<K> keys, final Codec<V> values, final Path path) throws IOException {
+		final Region region = open(path, MAP_MAGIC);
+		return new MapFile<>(keys, values, region, region.getLong(24));
+	}
+
+	private static Region open(final Path path, final int magic) throws IOException {
+		try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			if (channel.size() < HEADER_BYTES) {
+				throw new IOException("not a collection file: " + path);
+			}
+			final ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+			while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+			}
+			if (header.getInt(0) != magic) {
+				throw new IOException("not a collection file of this kind: " + path);
+			}
+			if (header.getInt(4) != VERSION) {
+				throw new IOException("unsupported format version " + header.getInt(4) + ": " + path);
+			}
+			return new Region(channel, MapMode.READ_ONLY, channel.size(), header.getInt(8));
+		}
+	}
+
+	private static void header(final Region region, final int magic, final int chunkBytes, final long count, final long slots) {
+		region.putInt(0, magic);
+		region.putInt(4, VERSION);
+		region.putInt(8, chunkBytes);
+		region.putLong(16, count);
+		region.putLong(24, slots);
+	}
+
+	/**
+	 * Position of a record of {@code bytes} at or after {@code position},
+	 * moved to the next chunk if it would otherwise cross a boundary.
+	 */
+	private static long place(final long position, final int bytes, final int chunkBytes) {
+		if (bytes > chunkBytes) {
+			throw new IllegalArgumentException("element larger than chunk size");
+		}
+		final long offset = position % chunkBytes;
+		return offset + bytes > chunkBytes ? position - offset + chunkBytes : position;
+	}
+
+	/**
+	 * A file mapped as consecutive chunks, addressed by absolute position.
+	 */
+	final static class Region {
+
+		private final MappedByteBuffer[] chunks;
+		private final int chunkBytes;
+
+		Region (final FileChannel channel, final MapMode mode, final long length, final int chunkBytes) throws IOException {
+			this.chunkBytes = chunkBytes;
+			this.chunks = new MappedByteBuffer[(int) ((length + chunkBytes - 1) / chunkBytes)];
+			for (int i = 0; i < chunks.length; i ++) {
+				final long start = (long) i * chunkBytes;
+				chunks[i] = channel.map(mode, start, Math.min(chunkBytes, length - start));
+			}
+		}
+
+		ByteBuffer chunk(final long position) {
+			return chunks[(int) (position / chunkBytes)];
+		}
+
+		int offset(final long position) {
+			return (int) (position % chunkBytes);
+		}
+
+		long getLong(final long position) {
+			return chunk(position).getLong(offset(position));
+		}
+
+		int getInt(final long position) {
+			return chunk(position).getInt(offset(position));
+		}
+
+		void putLong(final long position, final long value) {
+			chunk(position).putLong(offset(position), value);
+		}
+
+		void putInt(final long position, final int value) {
+			chunk(position).putInt(offset(position), value);
+		}
+
+		void force() {
+			for (final MappedByteBuffer chunk : chunks) {
+				chunk.force();
+			}
+		}
+	}
+
+	final static class ListFile<T> implements List<T> {
+
+		private final Codec<T> codec;
+		private final Region region;
+		private final int size;
+
+		ListFile (final Codec<T> codec, final Region region, final int size) {
+			this.codec = codec;
+			this.region = region;
+			this.size = size;
+		}
+
+		private T decode(final int i) {
+			final long position = region.getLong(HEADER_BYTES + (long) i * Long.BYTES);
+			return codec.decode(region.chunk(position), region.offset(position));
+		}
+
+		@Override
+		public void forEach(final Consumer<T> action) {
+			for (int i = 0; i < size; i ++) {
+				action.accept(decode(i));
+			}
+		}
+
+		@Override
+		public void forEach(final int start, final int end, final Consumer<T> action) throws IndexOutOfBoundsException {
+			if ((start < 0 || start >= size) ||
+				(end <= 0 || end > size) ||
+				(start >= end)) {
+				throw new IndexOutOfBoundsException("index out of range.");
+			}
+			for (int i = start; i < end; i ++) {
+				action.accept(decode(i));
+			}
+		}
+
+		@Override
+		public void forIndex(final int index, final Consumer<T> action) throws IndexOutOfBoundsException {
+			if (index < 0 || index >= size) {
+				throw new IndexOutOfBoundsException("index out of range");
+			}
+			action.accept(decode(index));
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public boolean splittable() {
+			return true;
+		}
+	}
+
+	final static class MapFile<K,V> implements Map<K,V> {
+
+		private final Codec<K> keys;
+		private final Codec<V> values;
+		private final Region region;
+		private final long slots;
+
+		MapFile (final Codec<K> keys, final Codec<V> values, final Region region, final long slots) {
+			this.keys = keys;
+			this.values = values;
+			this.region = region;
+			this.slots = slots;
+		}
+
+		private V value(final long entry, final long at) {
+			return values.decode(region.chunk(at), region.offset(at) + region.getInt(entry + Long.BYTES + Integer.BYTES));
+		}
+
+		@FunctionalInterface
+		interface EntryConsumer {
+			void accept(final long entry, final long at);
+		}
+
+		private void forEachEntry(final EntryConsumer action) {
+			for (long slot = 0; slot < slots; slot ++) {
+				final long entry = HEADER_BYTES + slot * SLOT_BYTES;
+				final long at = region.getLong(entry);
+				if (at != 0) {
+					action.accept(entry, at);
+				}
+			}
+		}
+
+		@Override
+		public void forEach(final BiConsumer<K, V> action) {
+			forEachEntry((entry, at) -> action.accept(keys.decode(region.chunk(at), region.offset(at)), value(entry, at)));
+		}
+
+		@Override
+		public void forEachKey(final Consumer<K> action) {
+			forEachEntry((entry, at) -> action.accept(keys.decode(region.chunk(at), region.offset(at))));
+		}
+
+		@Override
+		public void forEachValue(final Consumer<V> action) {
+			forEachEntry((entry, at) -> action.accept(value(entry, at)));
+		}
+
+		@Override
+		public void forKey(final K key, final Consumer<V> action) {
+			final int hash = Map.Hashed.hash(key);
+			final long mask = slots - 1;
+			for (long slot = hash & mask; ; slot = (slot + 1) & mask) {
+				final long entry = HEADER_BYTES + slot * SLOT_BYTES;
+				final long at = region.getLong(entry);
+				if (at == 0) {
+					return;
+				}
+				if (region.getInt(entry + Long.BYTES) == hash && key.equals(keys.decode(region.chunk(at), region.offset(at)))) {
+					action.accept(value(entry, at));
+					return;
+				}
+			}
+		}
+	}
+}
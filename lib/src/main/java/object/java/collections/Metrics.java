@@ -0,0 +1,129 @@
+package object.java.collections;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+/**
+ * Sink for the counters and latencies recorded by the instrumented
+ * decorators. Implementations must be thread safe and cheap; they are
+ * called on every decorated operation.
+ */
+public interface Metrics {
+
+	void count (final String name, final long delta);
+
+	void record (final String name, final long nanos);
+
+	static Metrics none() {
+		return None.INST;
+	}
+
+	static Registry registry() {
+		return new Registry();
+	}
+
+	static enum None implements Metrics {
+		INST
+		;
+
+		@Override
+		public void count(final String name, final long delta) {
+		}
+
+		@Override
+		public void record(final String name, final long nanos) {
+		}
+	}
+
+	/**
+	 * In memory sink: striped counters and log scaled histograms, created on
+	 * first use of a name.
+	 */
+	final static class Registry implements Metrics {
+
+		private final ConcurrentHashMap<String, LongAdder> counters = new ConcurrentHashMap<>();
+		private final ConcurrentHashMap<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+		Registry () {}
+
+		@Override
+		public void count(final String name, final long delta) {
+			LongAdder counter = counters.get(name);
+			if (counter == null) {
+				counter = counters.computeIfAbsent(name, n -> new LongAdder());
+			}
+			counter.add(delta);
+		}
+
+		@Override
+		public void record(final String name, final long nanos) {
+			Histogram histogram = histograms.get(name);
+			if (histogram == null) {
+				histogram = histograms.computeIfAbsent(name, n -> new Histogram());
+			}
+			histogram.record(nanos);
+		}
+
+		public long counter(final String name) {
+			final LongAdder counter = counters.get(name);
+			return counter == null ? 0 : counter.sum();
+		}
+
+		public Histogram histogram(final String name) {
+			return histograms.computeIfAbsent(name, n -> new Histogram());
+		}
+
+		public void forEachCounter(final BiConsumer<String, Long> action) {
+			counters.forEach((name, counter) -> action.accept(name, counter.sum()));
+		}
+
+		public void forEachHistogram(final BiConsumer<String, Histogram> action) {
+			histograms.forEach(action);
+		}
+	}
+
+	/**
+	 * Histogram with one bucket per power of two, so quantiles are accurate
+	 * to within a factor of two and recording is a single atomic add.
+	 */
+	final static class Histogram {
+
+		private final AtomicLongArray buckets = new AtomicLongArray(Long.SIZE);
+
+		Histogram () {}
+
+		void record(final long value) {
+			buckets.incrementAndGet(Long.SIZE - 1 - Long.numberOfLeadingZeros(Math.max(1, value)));
+		}
+
+		public long count() {
+			long count = 0;
+			for (int i = 0; i < Long.SIZE; i ++) {
+				count += buckets.get(i);
+			}
+			return count;
+		}
+
+		/**
+		 * Upper bound of the bucket holding the given quantile, or 0 when
+		 * nothing was recorded.
+		 */
+		public long quantile(final double q) {
+			final long count = count();
+			if (count == 0) {
+				return 0;
+			}
+			final long rank = Math.max(1, (long) Math.ceil(q * count));
+			long seen = 0;
+			for (int i = 0; i < Long.SIZE; i ++) {
+				seen += buckets.get(i);
+				if (seen >= rank) {
+					return i == Long.SIZE - 1 ? Long.MAX_VALUE : (1L << (i + 1)) - 1;
+				}
+			}
+			return Long.MAX_VALUE;
+		}
+	}
+}
@@ -0,0 +1,213 @@
+package object.java.collections;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+public interface MutableMap<K,V> extends Map<K,V> {
+
+	V put (final K key, final V value);
+
+	V putIfAbsent (final K key, final V value);
+
+	V compute (final K key, final BiFunction<K, V, V> fn);
+
+	V remove (final K key);
+
+	static <K,V> MutableMap<K,V> concurrent() {
+		return concurrent(4 * Runtime.getRuntime().availableProcessors());
+	}
+
+	static <K,V> MutableMap<K,V> concurrent(final int concurrency) {
+		int stripes = 1;
+		while (stripes < concurrency) {
+			stripes <<= 1;
+		}
+		return new Striped<>(stripes);
+	}
+
+	/**
+	 * Lock striped hash map. Every stripe owns its own table of immutable
+	 * bin chains; writers lock one stripe, rebuild the affected chain and
+	 * publish it with a volatile write, so readers never take a lock and
+	 * always see a complete chain. Traversal is weakly consistent: it sees
+	 * each bin as of the moment it reaches it.
+	 */
+	final static class Striped<K,V> implements MutableMap<K,V> {
+
+		private static final int INITIAL_CAPACITY = 8;
+		private static final float LOAD_FACTOR = 0.75f;
+
+		private final Stripe[] stripes;
+
+		Striped (final int stripes) {
+			this.stripes = new Stripe[stripes];
+			for (int i = 0; i < stripes; i ++) {
+				this.stripes[i] = new Stripe();
+			}
+		}
+
+		private Stripe stripe(final int hash) {
+			return stripes[(hash >>> 16) & (stripes.length - 1)];
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public void forKey(final K key, final Consumer<V> action) {
+			final int hash = Map.Hashed.hash(key);
+			final Node node = stripe(hash).find(hash, key);
+			if (node != null) {
+				action.accept((V) node.value);
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public void forEach(final BiConsumer<K, V> action) {
+			for (final Stripe stripe : stripes) {
+				final AtomicReferenceArray<Node> table = stripe.table;
+				for (int i = 0; i < table.length(); i ++) {
+					for (Node node = table.get(i); node != null; node = node.next) {
+						action.accept((K) node.key, (V) node.value);
+					}
+				}
+			}
+		}
+
+		@Override
+		public void forEachKey(final Consumer<K> action) {
+			forEach((k, v) -> action.accept(k));
+		}
+
+		@Override
+		public void forEachValue(final Consumer<V> action) {
+			forEach((k, v) -> action.accept(v));
+		}
+
+		@Override
+		public V put(final K key, final V value) {
+			Objects.requireNonNull(value);
+			return compute(key, (k, v) -> value, true);
+		}
+
+		@Override
+		public V putIfAbsent(final K key, final V value) {
+			Objects.requireNonNull(value);
+			return compute(key, (k, v) -> v == null ? value : v, true);
+		}
+
+		@Override
+		public V compute(final K key, final BiFunction<K, V, V> fn) {
+			return compute(key, fn, false);
+		}
+
+		@Override
+		public V remove(final K key) {
+			return compute(key, (k, v) -> null, true);
+		}
+
+		/**
+		 * Applies {@code fn} under the stripe lock and returns either the
+		 * previous value or the new one.
+		 */
+		@SuppressWarnings("unchecked")
+		private V compute(final K key, final BiFunction<K, V, V> fn, final boolean returnPrevious) {
+			final int hash = Map.Hashed.hash(key);
+			final Stripe stripe = stripe(hash);
+			stripe.lock();
+			try {
+				final Node existing = stripe.find(hash, key);
+				final V previous = existing == null ? null : (V) existing.value;
+				final V updated = fn.apply(key, previous);
+				if (updated == null) {
+					if (existing != null) {
+						stripe.remove(hash, key);
+					}
+				} else if (updated != previous) {
+					stripe.put(hash, key, updated, existing == null);
+				}
+				return returnPrevious ? previous : updated;
+			} finally {
+				stripe.unlock();
+			}
+		}
+
+		final static class Node {
+			final int hash;
+			final java.lang.Object key;
+			final java.lang.Object value;
+			final Node next;
+
+			Node (final int hash, final java.lang.Object key, final java.lang.Object value, final Node next) {
+				this.hash = hash;
+				this.key = key;
+				this.value = value;
+				this.next = next;
+			}
+		}
+
+		final static class Stripe extends ReentrantLock {
+
+			private static final long serialVersionUID = 1L;
+
+			volatile AtomicReferenceArray<Node> table = new AtomicReferenceArray<>(INITIAL_CAPACITY);
+			private int count;
+
+			Node find(final int hash, final java.lang.Object key) {
+				final AtomicReferenceArray<Node> table = this.table;
+				for (Node node = table.get(hash & (table.length() - 1)); node != null; node = node.next) {
+					if (node.hash == hash && node.key.equals(key)) {
+						return node;
+					}
+				}
+				return null;
+			}
+
+			void put(final int hash, final java.lang.Object key, final java.lang.Object value, final boolean absent) {
+				if (absent) {
+					if (count + 1 > table.length() * LOAD_FACTOR) {
+						resize();
+					}
+					final int bin = hash & (table.length() - 1);
+					table.set(bin, new Node(hash, key, value, table.get(bin)));
+					count ++;
+				} else {
+					final int bin = hash & (table.length() - 1);
+					table.set(bin, rebuild(table.get(bin), hash, key, value));
+				}
+			}
+
+			void remove(final int hash, final java.lang.Object key) {
+				final int bin = hash & (table.length() - 1);
+				table.set(bin, rebuild(table.get(bin), hash, key, null));
+				count --;
+			}
+
+			/**
+			 * Copies the chain up to the matching node, replacing or dropping it,
+			 * and shares the rest of the chain.
+			 */
+			private static Node rebuild(final Node head, final int hash, final java.lang.Object key, final java.lang.Object value) {
+				if (head.hash == hash && head.key.equals(key)) {
+					return value == null ? head.next : new Node(hash, key, value, head.next);
+				}
+				return new Node(head.hash, head.key, head.value, rebuild(head.next, hash, key, value));
+			}
+
+			private void resize() {
+				final AtomicReferenceArray<Node> old = table;
+				final AtomicReferenceArray<Node> resized = new AtomicReferenceArray<>(old.length() << 1);
+				for (int i = 0; i < old.length(); i ++) {
+					for (Node node = old.get(i); node != null; node = node.next) {
+						final int bin = node.hash & (resized.length() - 1);
+						resized.set(bin, new Node(node.hash, node.key, node.value, resized.get(bin)));
+					}
+				}
+				table = resized;
+			}
+		}
+	}
+}
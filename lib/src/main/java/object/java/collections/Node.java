@@ -0,0 +1,16 @@
+package object.java.collections;
+
+/**
+ * Immutable singly linked cell shared by the persistent {@link Stack} and
+ * the rear of the persistent {@link Queue}.
+ */
+final class Node {
+
+	final java.lang.Object value;
+	final Node next;
+
+	Node (final java.lang.Object value, final Node next) {
+		this.value = value;
+		this.next = next;
+	}
+}
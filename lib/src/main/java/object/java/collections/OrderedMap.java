@@ -0,0 +1,330 @@
+package object.java.collections;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.IntBinaryOperator;
+
+public interface OrderedMap<K,V> extends Map<K,V> {
+
+	/**
+	 * Entries with {@code from <= key < to}, in key order.
+	 */
+	void forRange (final K from, final K to, final BiConsumer<K,V> action);
+
+	/**
+	 * Entry with the greatest key {@code <= key}, if any.
+	 */
+	void floor (final K key, final BiConsumer<K,V> action);
+
+	/**
+	 * Entry with the least key {@code >= key}, if any.
+	 */
+	void ceiling (final K key, final BiConsumer<K,V> action);
+
+	int size ();
+
+	@SuppressWarnings("unchecked")
+	static <K extends Comparable<? super K>, V> OrderedMap<K,V> of (final K[] keys, final V[] values) {
+		return of((Comparator<K>) Comparator.naturalOrder(), keys, values);
+	}
+
+	/**
+	 * A later duplicate key replaces the earlier value.
+	 */
+	static <K,V> OrderedMap<K,V> of (final Comparator<? super K> comparator, final K[] keys, final V[] values) {
+		assert (keys.length == values.length);
+		final int[] order = Tree.order(keys.length, (a, b) -> comparator.compare(keys[a], keys[b]));
+		final java.lang.Object[] sortedKeys = new java.lang.Object[order.length];
+		final java.lang.Object[] sortedValues = new java.lang.Object[order.length];
+		for (int i = 0; i < order.length; i ++) {
+			sortedKeys[i] = keys[order[i]];
+			sortedValues[i] = values[order[i]];
+		}
+		return new Tree<>(new ObjectKeys<>(sortedKeys, comparator), sortedValues);
+	}
+
+	/**
+	 * Map keyed by primitive longs, stored unboxed.
+	 */
+	static <V> OrderedMap<Long,V> longs (final long[] keys, final V[] values) {
+		assert (keys.length == values.length);
+		final int[] order = Tree.order(keys.length, (a, b) -> Long.compare(keys[a], keys[b]));
+		final long[] sortedKeys = new long[order.length];
+		final java.lang.Object[] sortedValues = new java.lang.Object[order.length];
+		for (int i = 0; i < order.length; i ++) {
+			sortedKeys[i] = keys[order[i]];
+			sortedValues[i] = values[order[i]];
+		}
+		return new Tree<>(new LongKeys(sortedKeys), sortedValues);
+	}
+
+	/**
+	 * A sorted run of keys addressed by position.
+	 */
+	static interface Keys<K> {
+
+		int size ();
+
+		K key (final int i);
+
+		int compare (final int i, final K key);
+
+		/**
+		 * Every {@code stride}th key, starting with the first.
+		 */
+		Keys<K> sample (final int stride);
+	}
+
+	final static class ObjectKeys<K> implements Keys<K> {
+
+		private final java.lang.Object[] keys;
+		private final Comparator<? super K> comparator;
+
+		ObjectKeys (final java.lang.Object[] keys, final Comparator<? super K> comparator) {
+			this.keys = keys;
+			this.comparator = comparator;
+		}
+
+		@Override
+		public int size() {
+			return keys.length;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public K key(final int i) {
+			return (K) keys[i];
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public int compare(final int i, final K key) {
+			return comparator.compare((K) keys[i], key);
+		}
+
+		@Override
+		public Keys<K> sample(final int stride) {
+			final java.lang.Object[] sample = new java.lang.Object[(keys.length + stride - 1) / stride];
+			for (int i = 0; i < sample.length; i ++) {
+				sample[i] = keys[i * stride];
+			}
+			return new ObjectKeys<>(sample, comparator);
+		}
+	}
+
+	final static class LongKeys implements Keys<Long> {
+
+		private final long[] keys;
+
+		LongKeys (final long[] keys) {
+			this.keys = keys;
+		}
+
+		@Override
+		public int size() {
+			return keys.length;
+		}
+
+		@Override
+		public Long key(final int i) {
+			return keys[i];
+		}
+
+		@Override
+		public int compare(final int i, final Long key) {
+			return Long.compare(keys[i], key);
+		}
+
+		@Override
+		public Keys<Long> sample(final int stride) {
+			final long[] sample = new long[(keys.length + stride - 1) / stride];
+			for (int i = 0; i < sample.length; i ++) {
+				sample[i] = keys[i * stride];
+			}
+			return new LongKeys(sample);
+		}
+	}
+
+	/**
+	 * Static B+ tree laid out level by level. The leaves are the sorted keys
+	 * in one array, split into blocks of {@link #FANOUT}; each level above
+	 * holds the first key of every block of the level below. A search binary
+	 * searches one block per level, so a lookup reads a handful of
+	 * contiguous runs and costs O(log n), and ranges continue along the
+	 * sorted leaf array.
+	 */
+	final static class Tree<K,V> implements OrderedMap<K,V> {
+
+		static final int FANOUT = 64;
+
+		/**
+		 * Runs this short are insertion sorted before merging.
+		 */
+		static final int INSERTION = 16;
+
+		private final Keys<K>[] levels;
+		private final java.lang.Object[] values;
+
+		Tree (final Keys<K> keys, final java.lang.Object[] values) {
+			int depth = 1;
+			for (int n = keys.size(); n > FANOUT; n = (n + FANOUT - 1) / FANOUT) {
+				depth ++;
+			}
+			this.levels = levels(depth);
+			levels[0] = keys;
+			for (int i = 1; i < depth; i ++) {
+				levels[i] = levels[i - 1].sample(FANOUT);
+			}
+			this.values = values;
+		}
+
+		@SuppressWarnings("unchecked")
+		private static <K> Keys<K>[] levels(final int depth) {
+			return (Keys<K>[]) new Keys<?>[depth];
+		}
+
+		/**
+		 * Positions of {@code n} keys in sorted order, keeping only the last
+		 * of each run of equal keys. The positions are merge sorted as plain
+		 * ints, which is stable and never boxes an index.
+		 */
+		static int[] order(final int n, final IntBinaryOperator comparator) {
+			final int[] order = new int[n];
+			for (int i = 0; i < n; i ++) {
+				order[i] = i;
+			}
+			sort(order, new int[n], 0, n, comparator);
+			int size = 0;
+			for (int i = 0; i < n; i ++) {
+				if (size > 0 && comparator.applyAsInt(order[size - 1], order[i]) == 0) {
+					order[size - 1] = order[i];
+				} else {
+					order[size ++] = order[i];
+				}
+			}
+			return Arrays.copyOf(order, size);
+		}
+
+		private static void sort(final int[] order, final int[] scratch, final int from, final int to, final IntBinaryOperator comparator) {
+			if (to - from <= INSERTION) {
+				for (int i = from + 1; i < to; i ++) {
+					final int position = order[i];
+					int j = i;
+					for (; j > from && comparator.applyAsInt(order[j - 1], position) > 0; j --) {
+						order[j] = order[j - 1];
+					}
+					order[j] = position;
+				}
+				return;
+			}
+			final int mid = (from + to) >>> 1;
+			sort(order, scratch, from, mid, comparator);
+			sort(order, scratch, mid, to, comparator);
+			if (comparator.applyAsInt(order[mid - 1], order[mid]) <= 0) {
+				return;
+			}
+			System.arraycopy(order, from, scratch, from, to - from);
+			for (int k = from, i = from, j = mid; k < to; k ++) {
+				if (j >= to || (i < mid && comparator.applyAsInt(scratch[i], scratch[j]) <= 0)) {
+					order[k] = scratch[i ++];
+				} else {
+					order[k] = scratch[j ++];
+				}
+			}
+		}
+
+		/**
+		 * First position whose key is {@code >= key}, or {@code > key} when
+		 * {@code strict}; the size when there is none.
+		 */
+		private int search(final K key, final boolean strict) {
+			int lo = 0;
+			int hi = levels[levels.length - 1].size();
+			for (int level = levels.length - 1; ; level --) {
+				final Keys<K> keys = levels[level];
+				while (lo < hi) {
+					final int mid = (lo + hi) >>> 1;
+					final int c = keys.compare(mid, key);
+					if (c > 0 || (c == 0 && !strict)) {
+						hi = mid;
+					} else {
+						lo = mid + 1;
+					}
+				}
+				if (level == 0) {
+					return lo;
+				}
+				final int below = levels[level - 1].size();
+				hi = Math.min(below, lo * FANOUT + 1);
+				lo = Math.max(0, (lo - 1) * FANOUT);
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		private void entry(final int i, final BiConsumer<K, V> action) {
+			action.accept(levels[0].key(i), (V) values[i]);
+		}
+
+		@Override
+		public int size() {
+			return levels[0].size();
+		}
+
+		@Override
+		public void forEach(final BiConsumer<K, V> action) {
+			for (int i = 0; i < size(); i ++) {
+				entry(i, action);
+			}
+		}
+
+		@Override
+		public void forEachKey(final Consumer<K> action) {
+			for (int i = 0; i < size(); i ++) {
+				action.accept(levels[0].key(i));
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public void forEachValue(final Consumer<V> action) {
+			for (int i = 0; i < size(); i ++) {
+				action.accept((V) values[i]);
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public void forKey(final K key, final Consumer<V> action) {
+			final int i = search(key, false);
+			if (i < size() && levels[0].compare(i, key) == 0) {
+				action.accept((V) values[i]);
+			}
+		}
+
+		@Override
+		public void forRange(final K from, final K to, final BiConsumer<K, V> action) {
+			final int end = search(to, false);
+			for (int i = search(from, false); i < end; i ++) {
+				entry(i, action);
+			}
+		}
+
+		@Override
+		public void floor(final K key, final BiConsumer<K, V> action) {
+			final int i = search(key, true) - 1;
+			if (i >= 0) {
+				entry(i, action);
+			}
+		}
+
+		@Override
+		public void ceiling(final K key, final BiConsumer<K, V> action) {
+			final int i = search(key, false);
+			if (i < size()) {
+				entry(i, action);
+			}
+		}
+	}
+}
@@ -0,0 +1,84 @@
+package object.java.collections;
+
+import java.util.Comparator;
+import java.util.function.Consumer;
+
+public interface OrderedSet<T> extends Set<T> {
+
+	/**
+	 * Values with {@code from <= value < to}, in order.
+	 */
+	void forRange (final T from, final T to, final Consumer<T> action);
+
+	/**
+	 * Greatest value {@code <= value}, if any.
+	 */
+	void floor (final T value, final Consumer<T> action);
+
+	/**
+	 * Least value {@code >= value}, if any.
+	 */
+	void ceiling (final T value, final Consumer<T> action);
+
+	@SafeVarargs
+	@SuppressWarnings("unchecked")
+	static <T extends Comparable<? super T>> OrderedSet<T> of (final T...values) {
+		return of((Comparator<T>) Comparator.naturalOrder(), values);
+	}
+
+	@SafeVarargs
+	static <T> OrderedSet<T> of (final Comparator<? super T> comparator, final T...values) {
+		return new Keys<>(OrderedMap.of(comparator, values, new java.lang.Object[values.length]));
+	}
+
+	/**
+	 * Set of primitive longs, stored unboxed.
+	 */
+	static OrderedSet<Long> longs (final long...values) {
+		return new Keys<>(OrderedMap.longs(values, new java.lang.Object[values.length]));
+	}
+
+	/**
+	 * The keys of an ordered map, which already holds them in a B+ tree.
+	 */
+	final static class Keys<T> implements OrderedSet<T> {
+
+		private final OrderedMap<T, ?> map;
+
+		Keys (final OrderedMap<T, ?> map) {
+			this.map = map;
+		}
+
+		@Override
+		public void contains(final T value, final Consumer<Boolean> fn) {
+			final boolean[] found = {false};
+			map.forKey(value, v -> found[0] = true);
+			fn.accept(found[0]);
+		}
+
+		@Override
+		public void forEach(final Consumer<T> action) {
+			map.forEachKey(action);
+		}
+
+		@Override
+		public int size() {
+			return map.size();
+		}
+
+		@Override
+		public void forRange(final T from, final T to, final Consumer<T> action) {
+			map.forRange(from, to, (k, v) -> action.accept(k));
+		}
+
+		@Override
+		public void floor(final T value, final Consumer<T> action) {
+			map.floor(value, (k, v) -> action.accept(k));
+		}
+
+		@Override
+		public void ceiling(final T value, final Consumer<T> action) {
+			map.ceiling(value, (k, v) -> action.accept(k));
+		}
+	}
+}
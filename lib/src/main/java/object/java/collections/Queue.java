@@ -0,0 +1,223 @@
+package object.java.collections;
+
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Persistent FIFO queue after Okasaki's banker's queue: elements are taken
+ * from a lazily built front stream and appended onto a strict rear stack,
+ * and whenever the rear grows longer than the front the two are rotated
+ * into a new front, one element per forced cell. Forced cells are
+ * memoized and shared by every version derived from the same rotation, so
+ * enqueue, dequeue and peek are amortized O(1) even when old versions are
+ * reused.
+ */
+public final class Queue<T> implements List<T> {
+
+	private static final Queue<?> EMPTY_QUEUE = new Queue<>(Stream.EMPTY, 0, null, 0);
+
+	private final Stream front;
+	private final int frontSize;
+	private final Node rear;
+	private final int rearSize;
+
+	private Queue (final Stream front, final int frontSize, final Node rear, final int rearSize) {
+		this.front = front;
+		this.frontSize = frontSize;
+		this.rear = rear;
+		this.rearSize = rearSize;
+	}
+
+	@SuppressWarnings("unchecked")
+	public static <T> Queue<T> empty() {
+		return (Queue<T>) EMPTY_QUEUE;
+	}
+
+	@SafeVarargs
+	public static <T> Queue<T> of (final T...values) {
+		Queue<T> queue = empty();
+		for (final T value : values) {
+			queue = queue.enqueue(value);
+		}
+		return queue;
+	}
+
+	public static <T> Queue<T> from (final List<T> list) {
+		if (list instanceof Queue) {
+			return (Queue<T>) list;
+		}
+		final java.lang.Object[] values = new java.lang.Object[list.size()];
+		final int[] i = {0};
+		list.forEach(t -> values[i[0] ++] = t);
+		Stream front = Stream.EMPTY;
+		for (int j = values.length - 1; j >= 0; j --) {
+			front = new Stream(new Cell(values[j], front));
+		}
+		return values.length == 0 ? empty() : new Queue<>(front, values.length, null, 0);
+	}
+
+	/**
+	 * Queue with the rear rotated into the front once it has grown longer.
+	 */
+	private static <T> Queue<T> check (final Stream front, final int frontSize, final Node rear, final int rearSize) {
+		if (rearSize <= frontSize) {
+			return frontSize == 0 ? empty() : new Queue<>(front, frontSize, rear, rearSize);
+		}
+		return new Queue<>(rotate(front, rear, Stream.EMPTY), frontSize + rearSize, null, 0);
+	}
+
+	/**
+	 * Lazy {@code front ++ reverse(rear) ++ accumulated} for a rear exactly
+	 * one longer than the front, producing one cell per step.
+	 */
+	private static Stream rotate (final Stream front, final Node rear, final Stream accumulated) {
+		return new Stream(() -> {
+			final Cell cell = front.force();
+			if (cell == null) {
+				return new Cell(rear.value, accumulated);
+			}
+			return new Cell(cell.value, rotate(cell.next, rear.next, new Stream(new Cell(rear.value, accumulated))));
+		});
+	}
+
+	public Queue<T> enqueue (final T value) {
+		return check(front, frontSize, new Node(value, rear), rearSize + 1);
+	}
+
+	@SuppressWarnings("unchecked")
+	public void peek (final Consumer<T> action) {
+		if (frontSize > 0) {
+			action.accept((T) front.force().value);
+		}
+	}
+
+	/**
+	 * Passes the head and the queue without it to {@code action}; does
+	 * nothing when the queue is empty.
+	 */
+	@SuppressWarnings("unchecked")
+	public void dequeue (final BiConsumer<T, Queue<T>> action) {
+		if (frontSize > 0) {
+			final Cell cell = front.force();
+			action.accept((T) cell.value, check(cell.next, frontSize - 1, rear, rearSize));
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public void forEach(final Consumer<T> action) {
+		for (Cell cell = front.force(); cell != null; cell = cell.next.force()) {
+			action.accept((T) cell.value);
+		}
+		if (rearSize > 0) {
+			final java.lang.Object[] values = new java.lang.Object[rearSize];
+			int i = rearSize;
+			for (Node node = rear; node != null; node = node.next) {
+				values[-- i] = node.value;
+			}
+			for (final java.lang.Object value : values) {
+				action.accept((T) value);
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public void forEach(final int start, final int end, final Consumer<T> action) throws IndexOutOfBoundsException {
+		final int size = size();
+		if ((start < 0 || start >= size) ||
+			(end <= 0 || end > size) ||
+			(start >= end)) {
+			throw new IndexOutOfBoundsException("index out of range");
+		}
+		int index = 0;
+		for (Cell cell = front.force(); cell != null && index < end; cell = cell.next.force(), index ++) {
+			if (index >= start) {
+				action.accept((T) cell.value);
+			}
+		}
+		if (end > frontSize) {
+			final int from = Math.max(start, frontSize) - frontSize;
+			final int to = end - frontSize;
+			final java.lang.Object[] values = new java.lang.Object[to - from];
+			int position = rearSize - 1;
+			for (Node node = rear; node != null && position >= from; node = node.next, position --) {
+				if (position < to) {
+					values[position - from] = node.value;
+				}
+			}
+			for (final java.lang.Object value : values) {
+				action.accept((T) value);
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public void forIndex(final int index, final Consumer<T> action) throws IndexOutOfBoundsException {
+		if (index < 0 || index >= size()) {
+			throw new IndexOutOfBoundsException("index out of range");
+		}
+		if (index < frontSize) {
+			Cell cell = front.force();
+			for (int steps = index; steps > 0; steps --) {
+				cell = cell.next.force();
+			}
+			action.accept((T) cell.value);
+			return;
+		}
+		Node node = rear;
+		for (int steps = rearSize - 1 - (index - frontSize); steps > 0; steps --) {
+			node = node.next;
+		}
+		action.accept((T) node.value);
+	}
+
+	@Override
+	public int size() {
+		return frontSize + rearSize;
+	}
+
+	/**
+	 * Suspended stream cell, computed at most once in the common case; a
+	 * racing second computation yields an equal cell and is harmless.
+	 */
+	final static class Stream {
+
+		static final Stream EMPTY = new Stream((Cell) null);
+
+		private volatile Supplier<Cell> thunk;
+		private Cell cell;
+
+		Stream (final Cell cell) {
+			this.cell = cell;
+		}
+
+		Stream (final Supplier<Cell> thunk) {
+			this.thunk = thunk;
+		}
+
+		/**
+		 * The first cell, or null at the end of the stream.
+		 */
+		Cell force() {
+			final Supplier<Cell> thunk = this.thunk;
+			if (thunk != null) {
+				cell = thunk.get();
+				this.thunk = null;
+			}
+			return cell;
+		}
+	}
+
+	final static class Cell {
+		final java.lang.Object value;
+		final Stream next;
+
+		Cell (final java.lang.Object value, final Stream next) {
+			this.value = value;
+			this.next = next;
+		}
+	}
+}
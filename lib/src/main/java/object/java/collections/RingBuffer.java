@@ -0,0 +1,395 @@
+package object.java.collections;
+
+import java.util.AbstractQueue;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Bounded multi-producer multi-consumer queue over a power of two ring of
+ * slots. Every slot carries a sequence number telling whether it is free
+ * for the producer at a given position or holds a value for the consumer
+ * at that position, so producers and consumers only contend on their own
+ * counter and never take a lock. The two counters live a cache line apart
+ * in one padded array to avoid false sharing.
+ *
+ * Batch offers and drains claim a run of consecutive ready slots with a
+ * single compare-and-set. Blocking operations wait according to the
+ * {@link Wait} strategy the buffer was created with.
+ *
+ * The iterator is weakly consistent: it walks the positions between the
+ * head and tail seen when it was created and yields the values still
+ * waiting there. Removing through it, or with {@link #remove(java.lang.Object)},
+ * leaves a marker in the slot that consumers skip, so a removed value is
+ * still counted by {@link #size()} until a consumer passes it.
+ */
+public final class RingBuffer<T> extends AbstractQueue<T> implements BlockingQueue<T> {
+
+	/**
+	 * How blocking operations wait for a slot or a value.
+	 */
+	public static enum Wait {
+		SPIN,
+		YIELD,
+		PARK
+		;
+
+		private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+		void idle(final int attempt) {
+			switch (this) {
+			case SPIN:
+				break;
+			case YIELD:
+				Thread.yield();
+				break;
+			case PARK:
+				if (attempt < 64) {
+					Thread.yield();
+				} else {
+					LockSupport.parkNanos(Math.min(MAX_PARK_NANOS, 1L << Math.min(20, attempt - 64)));
+				}
+				break;
+			}
+		}
+	}
+
+	private static final int PAD = 16;
+	private static final int HEAD = PAD;
+	private static final int TAIL = 2 * PAD;
+	private static final java.lang.Object REMOVED = new java.lang.Object();
+
+	private final AtomicReferenceArray<java.lang.Object> slots;
+	private final AtomicLongArray sequences;
+	private final AtomicLongArray counters = new AtomicLongArray(3 * PAD);
+	private final int mask;
+	private final Wait wait;
+
+	public RingBuffer (final int capacity) {
+		this(capacity, Wait.PARK);
+	}
+
+	public RingBuffer (final int capacity, final Wait wait) {
+		if (capacity < 1 || capacity > 1 << 30) {
+			throw new IllegalArgumentException("capacity out of range");
+		}
+		int size = 1;
+		while (size < capacity) {
+			size <<= 1;
+		}
+		this.slots = new AtomicReferenceArray<>(size);
+		this.sequences = new AtomicLongArray(size);
+		for (int i = 0; i < size; i ++) {
+			sequences.set(i, i);
+		}
+		this.mask = size - 1;
+		this.wait = Objects.requireNonNull(wait);
+	}
+
+	/**
+	 * Fixed size pool fed by a ring buffer, suitable for {@link List#par}.
+	 * Submissions that find the buffer full wait for a free slot instead of
+	 * being rejected, so producers are throttled by the workers.
+	 */
+	public static ExecutorService executor (final int threads, final int capacity, final Wait wait) {
+		final RingBuffer<Runnable> queue = new RingBuffer<>(capacity, wait);
+		return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, queue, (task, pool) -> {
+			if (pool.isShutdown()) {
+				throw new RejectedExecutionException("executor has been shut down");
+			}
+			try {
+				queue.put(task);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new RejectedExecutionException(e);
+			}
+		});
+	}
+
+	public int capacity() {
+		return slots.length();
+	}
+
+	@Override
+	public boolean offer(final T value) {
+		Objects.requireNonNull(value);
+		long position = counters.get(TAIL);
+		while (true) {
+			final int slot = (int) position & mask;
+			final long difference = sequences.get(slot) - position;
+			if (difference == 0) {
+				if (counters.compareAndSet(TAIL, position, position + 1)) {
+					slots.lazySet(slot, value);
+					sequences.set(slot, position + 1);
+					return true;
+				}
+				position = counters.get(TAIL);
+			} else if (difference < 0) {
+				return false;
+			} else {
+				position = counters.get(TAIL);
+			}
+		}
+	}
+
+	/**
+	 * Offers as many values as fit, starting from the first, and returns how
+	 * many were accepted.
+	 */
+	public int offerAll(final List<T> values) {
+		values.forEach(Objects::requireNonNull);
+		final int n = values.size();
+		int offered = 0;
+		while (offered < n) {
+			final long position = counters.get(TAIL);
+			int free = 0;
+			while (offered + free < n && free <= mask && sequences.get((int) (position + free) & mask) == position + free) {
+				free ++;
+			}
+			if (free == 0) {
+				if (sequences.get((int) position & mask) < position) {
+					return offered;
+				}
+				continue;
+			}
+			if (counters.compareAndSet(TAIL, position, position + free)) {
+				final int from = offered;
+				final long[] next = {position};
+				values.forEach(from, from + free, t -> {
+					final int slot = (int) next[0] & mask;
+					slots.lazySet(slot, t);
+					sequences.set(slot, ++ next[0]);
+				});
+				offered += free;
+			}
+		}
+		return offered;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public T poll() {
+		long position = counters.get(HEAD);
+		while (true) {
+			final int slot = (int) position & mask;
+			final long difference = sequences.get(slot) - (position + 1);
+			if (difference == 0) {
+				if (counters.compareAndSet(HEAD, position, position + 1)) {
+					final java.lang.Object value = slots.getAndSet(slot, null);
+					sequences.set(slot, position + mask + 1);
+					if (value != REMOVED) {
+						return (T) value;
+					}
+				}
+				position = counters.get(HEAD);
+			} else if (difference < 0) {
+				return null;
+			} else {
+				position = counters.get(HEAD);
+			}
+		}
+	}
+
+	/**
+	 * Removes up to {@code max} available values in order, handing each to
+	 * {@code action}, and returns how many were removed.
+	 */
+	@SuppressWarnings("unchecked")
+	public int drain(final Consumer<T> action, final int max) {
+		int drained = 0;
+		while (drained < max) {
+			final long position = counters.get(HEAD);
+			int ready = 0;
+			while (drained + ready < max && ready <= mask && sequences.get((int) (position + ready) & mask) == position + ready + 1) {
+				ready ++;
+			}
+			if (ready == 0) {
+				if (sequences.get((int) position & mask) < position + 1) {
+					return drained;
+				}
+				continue;
+			}
+			if (counters.compareAndSet(HEAD, position, position + ready)) {
+				for (int i = 0; i < ready; i ++) {
+					final int slot = (int) (position + i) & mask;
+					final java.lang.Object value = slots.getAndSet(slot, null);
+					sequences.set(slot, position + i + mask + 1);
+					if (value != REMOVED) {
+						action.accept((T) value);
+						drained ++;
+					}
+				}
+			}
+		}
+		return drained;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public T peek() {
+		while (true) {
+			final long position = counters.get(HEAD);
+			final int slot = (int) position & mask;
+			final long sequence = sequences.get(slot);
+			if (sequence < position + 1) {
+				return null;
+			}
+			final java.lang.Object value = slots.get(slot);
+			if (sequence == position + 1 && counters.get(HEAD) == position && value != null) {
+				if (value != REMOVED) {
+					return (T) value;
+				}
+				if (counters.compareAndSet(HEAD, position, position + 1)) {
+					slots.set(slot, null);
+					sequences.set(slot, position + mask + 1);
+				}
+			}
+		}
+	}
+
+	@Override
+	public void put(final T value) throws InterruptedException {
+		for (int attempt = 0; !offer(value); attempt ++) {
+			if (Thread.interrupted()) {
+				throw new InterruptedException();
+			}
+			wait.idle(attempt);
+		}
+	}
+
+	@Override
+	public boolean offer(final T value, final long timeout, final TimeUnit unit) throws InterruptedException {
+		final long deadline = System.nanoTime() + unit.toNanos(timeout);
+		for (int attempt = 0; !offer(value); attempt ++) {
+			if (Thread.interrupted()) {
+				throw new InterruptedException();
+			}
+			if (System.nanoTime() - deadline >= 0) {
+				return false;
+			}
+			wait.idle(attempt);
+		}
+		return true;
+	}
+
+	@Override
+	public T take() throws InterruptedException {
+		T value;
+		for (int attempt = 0; (value = poll()) == null; attempt ++) {
+			if (Thread.interrupted()) {
+				throw new InterruptedException();
+			}
+			wait.idle(attempt);
+		}
+		return value;
+	}
+
+	@Override
+	public T poll(final long timeout, final TimeUnit unit) throws InterruptedException {
+		final long deadline = System.nanoTime() + unit.toNanos(timeout);
+		T value;
+		for (int attempt = 0; (value = poll()) == null; attempt ++) {
+			if (Thread.interrupted()) {
+				throw new InterruptedException();
+			}
+			if (System.nanoTime() - deadline >= 0) {
+				return null;
+			}
+			wait.idle(attempt);
+		}
+		return value;
+	}
+
+	@Override
+	public int remainingCapacity() {
+		return slots.length() - size();
+	}
+
+	@Override
+	public int drainTo(final Collection<? super T> target) {
+		return drainTo(target, Integer.MAX_VALUE);
+	}
+
+	@Override
+	public int drainTo(final Collection<? super T> target, final int max) {
+		if (target == this) {
+			throw new IllegalArgumentException("cannot drain into itself");
+		}
+		return drain(target::add, max);
+	}
+
+	@Override
+	public int size() {
+		while (true) {
+			final long head = counters.get(HEAD);
+			final long tail = counters.get(TAIL);
+			if (counters.get(HEAD) == head) {
+				return (int) Math.max(0, Math.min(slots.length(), tail - head));
+			}
+		}
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return new Iterator<T>() {
+
+			private final long end = counters.get(TAIL);
+			private long position = counters.get(HEAD);
+			private java.lang.Object next;
+			private int nextSlot = -1;
+			private java.lang.Object last;
+			private int lastSlot = -1;
+
+			private void advance() {
+				while (next == null && position < end) {
+					final int slot = (int) position & mask;
+					final long sequence = sequences.get(slot);
+					final java.lang.Object value = slots.get(slot);
+					if (sequence == position + 1 && sequences.get(slot) == sequence && value != null && value != REMOVED) {
+						next = value;
+						nextSlot = slot;
+					}
+					position ++;
+				}
+			}
+
+			@Override
+			public boolean hasNext() {
+				advance();
+				return next != null;
+			}
+
+			@SuppressWarnings("unchecked")
+			@Override
+			public T next() {
+				advance();
+				if (next == null) {
+					throw new NoSuchElementException();
+				}
+				last = next;
+				lastSlot = nextSlot;
+				next = null;
+				return (T) last;
+			}
+
+			@Override
+			public void remove() {
+				if (last == null) {
+					throw new IllegalStateException();
+				}
+				slots.compareAndSet(lastSlot, last, REMOVED);
+				last = null;
+			}
+		};
+	}
+}
@@ -1,7 +1,12 @@
 package object.java.collections;
 
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.function.IntConsumer;
 
 public interface Set<T> {
 
@@ -9,6 +14,8 @@ public interface Set<T> {
 
 	void forEach (final Consumer<T> action);
 
+	int size ();
+
 	@SuppressWarnings("unchecked")
 	public static <R> Set<R> empty() {
 		return (Set<R>) Empty.INST;
@@ -18,54 +25,742 @@ public interface Set<T> {
 		return new Hashed<>(values);
 	}
 	
+	@SafeVarargs
+	public static <R> Hashed<R> guarded (final double falsePositiveRate, final R...values) {
+		return new Hashed<>(values, falsePositiveRate);
+	}
+	
+	public static <T> Set<T> instrumented (final Set<T> set, final Metrics metrics) {
+		return new Instrumented<>(set, metrics);
+	}
+	
+	public static Set<Integer> bitmap (final int...values) {
+		return new Bitmap(values);
+	}
+	
+	public static Set<Long> longBitmap (final long...values) {
+		return new LongBitmap(values);
+	}
+	
+	public static <T> Set<T> union (final Set<T> a, final Set<T> b) {
+		return Algebra.union(a, b, null);
+	}
+	
+	public static <T> Set<T> union (final Set<T> a, final Set<T> b, final ExecutorService es) {
+		return Algebra.union(a, b, es);
+	}
+	
+	public static <T> Set<T> intersection (final Set<T> a, final Set<T> b) {
+		return Algebra.intersection(a, b, null);
+	}
+	
+	public static <T> Set<T> intersection (final Set<T> a, final Set<T> b, final ExecutorService es) {
+		return Algebra.intersection(a, b, es);
+	}
+	
+	public static <T> Set<T> difference (final Set<T> a, final Set<T> b) {
+		return Algebra.difference(a, b, null);
+	}
+	
+	public static <T> Set<T> difference (final Set<T> a, final Set<T> b, final ExecutorService es) {
+		return Algebra.difference(a, b, es);
+	}
+	
+	public static <T> Set<T> symmetricDifference (final Set<T> a, final Set<T> b) {
+		return Algebra.symmetricDifference(a, b, null);
+	}
+	
+	public static <T> Set<T> symmetricDifference (final Set<T> a, final Set<T> b, final ExecutorService es) {
+		return Algebra.symmetricDifference(a, b, es);
+	}
+	
+	/**
+	 * Set algebra. Two bitmaps are combined group by group on 64 bit words;
+	 * anything else probes the larger operand with the elements of the
+	 * smaller one, going straight to the implementation's own lookup instead
+	 * of the callback based {@link Set#contains(Object, Consumer)}. With an
+	 * executor, inputs of at least {@link #PARALLEL_THRESHOLD} elements are
+	 * cut into chunks that are combined or probed concurrently.
+	 */
+	final static class Algebra {
+
+		static final int PARALLEL_THRESHOLD = 1 << 14;
+
+		private Algebra() {}
+
+		@SuppressWarnings("unchecked")
+		static <T> Set<T> union (final Set<T> a, final Set<T> b, final ExecutorService es) {
+			if (a instanceof Bitmap && b instanceof Bitmap) {
+				return (Set<T>) Bitmap.combine((Bitmap) a, (Bitmap) b, Bitmap.Op.OR, es);
+			}
+			return of(concat(elements(a), keep(b, a, false, es)));
+		}
+
+		@SuppressWarnings("unchecked")
+		static <T> Set<T> intersection (final Set<T> a, final Set<T> b, final ExecutorService es) {
+			if (a instanceof Bitmap && b instanceof Bitmap) {
+				return (Set<T>) Bitmap.combine((Bitmap) a, (Bitmap) b, Bitmap.Op.AND, es);
+			}
+			return a.size() <= b.size()
+					? of(keep(a, b, true, es))
+					: of(keep(b, a, true, es));
+		}
+
+		@SuppressWarnings("unchecked")
+		static <T> Set<T> difference (final Set<T> a, final Set<T> b, final ExecutorService es) {
+			if (a instanceof Bitmap && b instanceof Bitmap) {
+				return (Set<T>) Bitmap.combine((Bitmap) a, (Bitmap) b, Bitmap.Op.AND_NOT, es);
+			}
+			return of(keep(a, b, false, es));
+		}
+
+		@SuppressWarnings("unchecked")
+		static <T> Set<T> symmetricDifference (final Set<T> a, final Set<T> b, final ExecutorService es) {
+			if (a instanceof Bitmap && b instanceof Bitmap) {
+				return (Set<T>) Bitmap.combine((Bitmap) a, (Bitmap) b, Bitmap.Op.XOR, es);
+			}
+			return of(concat(keep(a, b, false, es), keep(b, a, false, es)));
+		}
+
+		@SuppressWarnings("unchecked")
+		static <T> boolean contains (final Set<T> set, final T value) {
+			if (set instanceof Hashed) {
+				return ((Hashed<T>) set).contains(value);
+			} else if (set instanceof Bitmap) {
+				return ((Bitmap) set).contains((int) (Integer) value);
+			} else if (set instanceof LongBitmap) {
+				return ((LongBitmap) set).contains((long) (Long) value);
+			}
+			final AtomicBoolean result = new AtomicBoolean();
+			set.contains(value, result::set);
+			return result.get();
+		}
+
+		@SuppressWarnings("unchecked")
+		private static <T> Set<T> of (final java.lang.Object[] values) {
+			return values.length == 0 ? empty() : new Hashed<>((T[]) values);
+		}
+
+		private static java.lang.Object[] elements (final Set<?> set) {
+			final java.lang.Object[] values = new java.lang.Object[set.size()];
+			final AtomicInteger i = new AtomicInteger();
+			set.forEach(t -> values[i.getAndIncrement()] = t);
+			return values;
+		}
+
+		/**
+		 * Number of parallel tasks for {@code n} elements, each of a quarter
+		 * of {@link #PARALLEL_THRESHOLD} or more.
+		 */
+		static int chunks (final long n) {
+			return (int) Math.max(1, Math.min(Integer.MAX_VALUE, n / (PARALLEL_THRESHOLD / 4)));
+		}
+
+		private static java.lang.Object[] concat (final java.lang.Object[] a, final java.lang.Object[] b) {
+			final java.lang.Object[] values = Arrays.copyOf(a, a.length + b.length);
+			System.arraycopy(b, 0, values, a.length, b.length);
+			return values;
+		}
+
+		/**
+		 * Elements of {@code source} whose membership in {@code probe} equals
+		 * {@code present}.
+		 */
+		private static <T> java.lang.Object[] keep (final Set<T> source, final Set<T> probe, final boolean present, final ExecutorService es) {
+			final java.lang.Object[] values = elements(source);
+			if (es == null || values.length < PARALLEL_THRESHOLD) {
+				return keep(values, 0, values.length, probe, present);
+			}
+			final int chunks = chunks(values.length);
+			final java.util.List<Future<java.lang.Object[]>> futures = new java.util.ArrayList<>(chunks);
+			for (int c = 0; c < chunks; c ++) {
+				final int lo = (int) ((long) values.length * c / chunks);
+				final int hi = (int) ((long) values.length * (c + 1) / chunks);
+				futures.add(es.submit(() -> keep(values, lo, hi, probe, present)));
+			}
+			final java.lang.Object[][] parts = new java.lang.Object[chunks][];
+			int length = 0;
+			for (int c = 0; c < chunks; c ++) {
+				parts[c] = List.Par.waitFor(futures.get(c));
+				length += parts[c].length;
+			}
+			final java.lang.Object[] result = new java.lang.Object[length];
+			int at = 0;
+			for (final java.lang.Object[] part : parts) {
+				System.arraycopy(part, 0, result, at, part.length);
+				at += part.length;
+			}
+			return result;
+		}
+
+		@SuppressWarnings("unchecked")
+		private static <T> java.lang.Object[] keep (final java.lang.Object[] values, final int start, final int end, final Set<T> probe, final boolean present) {
+			final java.lang.Object[] kept = new java.lang.Object[end - start];
+			int n = 0;
+			for (int i = start; i < end; i ++) {
+				if (contains(probe, (T) values[i]) == present) {
+					kept[n ++] = values[i];
+				}
+			}
+			return Arrays.copyOf(kept, n);
+		}
+	}
+	
+	/**
+	 * Open addressing with linear probing over parallel hash and value
+	 * arrays, sized like {@link Map.Hashed}. Duplicate values are stored once.
+	 * An optional blocked {@link Bloom} filter answers most misses without
+	 * probing the table.
+	 */
 	final static class Hashed<T> implements Set<T> {
 
-		private final List<T>[] table;
+		private final int[] hashes;
+		private final java.lang.Object[] table;
+		private final int mask;
+		private final int size;
+		private final Bloom filter;
 		
+		@SafeVarargs
 		Hashed (final T...values) {
-			this.table = new List[values.length];
-			for (T value : values) {
-				int hash = hash(value);
-				final List<T> list = table[hash];
-				if (list == null) {
-					table[hash] = List.of(value);
-				} else {
-					table[hash] = List.tailList(list, value);
+			this(values, 0);
+		}
+		
+		Hashed (final T[] values, final double falsePositiveRate) {
+			int capacity = 2;
+			while (capacity * Map.Hashed.LOAD_FACTOR < values.length) {
+				capacity <<= 1;
+			}
+			this.hashes = new int[capacity];
+			this.table = new java.lang.Object[capacity];
+			this.mask = capacity - 1;
+			int size = 0;
+			for (final T value : values) {
+				final int hash = Map.Hashed.hash(value);
+				int slot = hash & mask;
+				while (table[slot] != null && !(hashes[slot] == hash && table[slot].equals(value))) {
+					slot = (slot + 1) & mask;
+				}
+				if (table[slot] == null) {
+					hashes[slot] = hash;
+					table[slot] = value;
+					size ++;
+				}
+			}
+			this.size = size;
+			if (falsePositiveRate > 0) {
+				final int[] distinct = new int[size];
+				int n = 0;
+				for (int slot = 0; slot < table.length; slot ++) {
+					if (table[slot] != null) {
+						distinct[n ++] = hashes[slot];
+					}
 				}
+				this.filter = Bloom.blocked(distinct, n, falsePositiveRate);
+			} else {
+				this.filter = null;
 			}
 		}
 		
-		private int hash(final T object) {
-			int h = (h = object.hashCode()) ^ (h >>> 16);
-			return (int) h & (table.length - 1);	
+		public double falsePositiveRate() {
+			return filter == null ? 0 : filter.falsePositiveRate();
 		}
 		
+		boolean contains (final T value) {
+			final int hash = Map.Hashed.hash(value);
+			if (filter != null && !filter.mightContain(hash)) {
+				return false;
+			}
+			for (int slot = hash & mask; table[slot] != null; slot = (slot + 1) & mask) {
+				if (hashes[slot] == hash && table[slot].equals(value)) {
+					return true;
+				}
+			}
+			return false;
+		}
 		
 		@Override
 		public void contains(final T value, final Consumer<Boolean> fn) {
-			
-			final List<T> hashed = table[hash(value)];
-			if (hashed != null) {
-				AtomicBoolean result = new AtomicBoolean(false);
-				hashed.forEach(t -> {
-					if (t.equals(value)) {
-						result.compareAndSet(false, true);
+			fn.accept(contains(value));
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public void forEach(final Consumer<T> action) {
+			for (final java.lang.Object value : table) {
+				if (value != null) {
+					action.accept((T) value);
+				}
+			}
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+	}
+
+	/**
+	 * Roaring style compressed bitmap. Values are grouped by their high 16
+	 * bits and each group keeps its low 16 bits in whichever container is
+	 * smallest: a sorted array, a 65536 bit bitmap or a list of runs. The
+	 * sign bit of the group key is flipped so that groups, and therefore
+	 * values, are visited in ascending signed order.
+	 */
+	final static class Bitmap implements Set<Integer> {
+
+		private final char[] keys;
+		private final Container[] containers;
+		private final int size;
+
+		private Bitmap (final char[] keys, final Container[] containers) {
+			this.keys = keys;
+			this.containers = containers;
+			int size = 0;
+			for (final Container container : containers) {
+				size += container.cardinality();
+			}
+			this.size = size;
+		}
+
+		Bitmap (final int...values) {
+			final int[] sorted = values.clone();
+			Arrays.sort(sorted);
+			for (int i = 0; i < sorted.length; i ++) {
+				sorted[i] ^= Integer.MIN_VALUE;
+			}
+			int groups = 0;
+			for (int i = 0; i < sorted.length; i ++) {
+				if (i == 0 || (sorted[i] >>> 16) != (sorted[i - 1] >>> 16)) {
+					groups ++;
+				}
+			}
+			this.keys = new char[groups];
+			this.containers = new Container[groups];
+			int group = 0;
+			for (int i = 0; i < sorted.length;) {
+				final int key = sorted[i] >>> 16;
+				final char[] low = new char[sorted.length - i];
+				int n = 0;
+				for (; i < sorted.length && (sorted[i] >>> 16) == key; i ++) {
+					if (n == 0 || low[n - 1] != (char) sorted[i]) {
+						low[n ++] = (char) sorted[i];
 					}
-				});
-				fn.accept(result.get());				
+				}
+				keys[group] = (char) key;
+				containers[group ++] = Container.of(low, n);
+			}
+			int size = 0;
+			for (final Container container : containers) {
+				size += container.cardinality();
+			}
+			this.size = size;
+		}
+
+		static enum Op {
+			AND, OR, AND_NOT, XOR
+			;
+
+			long apply (final long a, final long b) {
+				switch (this) {
+				case AND:
+					return a & b;
+				case OR:
+					return a | b;
+				case AND_NOT:
+					return a & ~b;
+				default:
+					return a ^ b;
+				}
+			}
+
+			Container apply (final Container a, final Container b) {
+				if (a == null || b == null) {
+					if (this == AND || a == null && this == AND_NOT) {
+						return null;
+					}
+					return a == null ? b : a;
+				}
+				final long[] left = a.words();
+				final long[] right = b.words();
+				final long[] words = new long[left.length];
+				for (int i = 0; i < words.length; i ++) {
+					words[i] = apply(left[i], right[i]);
+				}
+				return Container.of(words);
+			}
+		}
+
+		static Bitmap combine (final Bitmap a, final Bitmap b, final Op op, final ExecutorService es) {
+			final char[] keys = new char[a.keys.length + b.keys.length];
+			final Container[] left = new Container[keys.length];
+			final Container[] right = new Container[keys.length];
+			int n = 0;
+			for (int i = 0, j = 0; i < a.keys.length || j < b.keys.length; n ++) {
+				if (j == b.keys.length || i < a.keys.length && a.keys[i] < b.keys[j]) {
+					keys[n] = a.keys[i];
+					left[n] = a.containers[i ++];
+				} else if (i == a.keys.length || b.keys[j] < a.keys[i]) {
+					keys[n] = b.keys[j];
+					right[n] = b.containers[j ++];
+				} else {
+					keys[n] = a.keys[i];
+					left[n] = a.containers[i ++];
+					right[n] = b.containers[j ++];
+				}
+			}
+
+			final Container[] results = new Container[n];
+			final int tasks = Math.min(n, Algebra.chunks((long) a.size + b.size));
+			if (es == null || tasks < 2 || (long) a.size + b.size < Algebra.PARALLEL_THRESHOLD) {
+				combine(op, left, right, results, 0, n);
+			} else {
+				final Future<?>[] futures = new Future<?>[tasks];
+				for (int t = 0; t < tasks; t ++) {
+					final int lo = (int) ((long) n * t / tasks);
+					final int hi = (int) ((long) n * (t + 1) / tasks);
+					futures[t] = es.submit(() -> combine(op, left, right, results, lo, hi));
+				}
+				for (final Future<?> future : futures) {
+					List.Par.waitFor(future);
+				}
+			}
+
+			int m = 0;
+			for (int k = 0; k < n; k ++) {
+				if (results[k] != null) {
+					keys[m] = keys[k];
+					results[m ++] = results[k];
+				}
+			}
+			return new Bitmap(Arrays.copyOf(keys, m), Arrays.copyOf(results, m));
+		}
+
+		private static void combine (final Op op, final Container[] left, final Container[] right, final Container[] results, final int start, final int end) {
+			for (int k = start; k < end; k ++) {
+				results[k] = op.apply(left[k], right[k]);
+			}
+		}
+
+		boolean contains (final int value) {
+			final int group = Arrays.binarySearch(keys, (char) ((value ^ Integer.MIN_VALUE) >>> 16));
+			return group >= 0 && containers[group].contains((char) value);
+		}
+
+		void forEachInt (final IntConsumer action) {
+			for (int i = 0; i < keys.length; i ++) {
+				containers[i].forEach((keys[i] << 16) ^ Integer.MIN_VALUE, action);
 			}
 		}
 
 		@Override
-		public void forEach(final Consumer<T> action) {
-			for (final List<T> list : table) {
-				if (list != null) {
-					list.forEach(action);
+		public void contains(final Integer value, final Consumer<Boolean> fn) {
+			fn.accept(contains((int) value));
+		}
+
+		@Override
+		public void forEach(final Consumer<Integer> action) {
+			forEachInt(action::accept);
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		interface Container {
+
+			boolean contains (final char low);
+
+			void forEach (final int high, final IntConsumer action);
+
+			int cardinality ();
+
+			long[] words ();
+
+			static Container of (final long[] words) {
+				int n = 0;
+				for (final long word : words) {
+					n += Long.bitCount(word);
+				}
+				if (n == 0) {
+					return null;
+				}
+				final char[] sorted = new char[n];
+				int k = 0;
+				for (int i = 0; i < words.length; i ++) {
+					for (long word = words[i]; word != 0; word &= word - 1) {
+						sorted[k ++] = (char) ((i << 6) | Long.numberOfTrailingZeros(word));
+					}
+				}
+				return of(sorted, n);
+			}
+
+			static Container of (final char[] sorted, final int n) {
+				int runs = 0;
+				for (int i = 0; i < n; i ++) {
+					if (i == 0 || sorted[i] != sorted[i - 1] + 1) {
+						runs ++;
+					}
+				}
+				final int arrayBytes = 2 * n;
+				final int runBytes = 4 * runs;
+				final int bitmapBytes = 8192;
+				if (runBytes < arrayBytes && runBytes < bitmapBytes) {
+					return new Runs(sorted, n, runs);
+				} else if (arrayBytes <= bitmapBytes) {
+					return new Sorted(Arrays.copyOf(sorted, n));
+				}
+				return new Bits(sorted, n);
+			}
+		}
+
+		final static class Sorted implements Container {
+
+			private final char[] values;
+
+			Sorted (final char[] values) {
+				this.values = values;
+			}
+
+			@Override
+			public boolean contains(final char low) {
+				return Arrays.binarySearch(values, low) >= 0;
+			}
+
+			@Override
+			public void forEach(final int high, final IntConsumer action) {
+				for (final char low : values) {
+					action.accept(high | low);
+				}
+			}
+
+			@Override
+			public int cardinality() {
+				return values.length;
+			}
+
+			@Override
+			public long[] words() {
+				final long[] words = new long[1024];
+				for (final char low : values) {
+					words[low >>> 6] |= 1L << low;
+				}
+				return words;
+			}
+		}
+
+		final static class Bits implements Container {
+
+			private final long[] words = new long[1024];
+			private final int cardinality;
+
+			Bits (final char[] sorted, final int n) {
+				for (int i = 0; i < n; i ++) {
+					words[sorted[i] >>> 6] |= 1L << sorted[i];
+				}
+				this.cardinality = n;
+			}
+
+			@Override
+			public boolean contains(final char low) {
+				return (words[low >>> 6] & (1L << low)) != 0;
+			}
+
+			@Override
+			public void forEach(final int high, final IntConsumer action) {
+				for (int i = 0; i < words.length; i ++) {
+					long word = words[i];
+					while (word != 0) {
+						action.accept(high | (i << 6) | Long.numberOfTrailingZeros(word));
+						word &= word - 1;
+					}
+				}
+			}
+
+			@Override
+			public int cardinality() {
+				return cardinality;
+			}
+
+			@Override
+			public long[] words() {
+				return words;
+			}
+		}
+
+		final static class Runs implements Container {
+
+			private final char[] starts;
+			private final char[] lengths;
+
+			Runs (final char[] sorted, final int n, final int runs) {
+				this.starts = new char[runs];
+				this.lengths = new char[runs];
+				int run = -1;
+				for (int i = 0; i < n; i ++) {
+					if (i == 0 || sorted[i] != sorted[i - 1] + 1) {
+						starts[++ run] = sorted[i];
+					} else {
+						lengths[run] ++;
+					}
+				}
+			}
+
+			@Override
+			public boolean contains(final char low) {
+				int index = Arrays.binarySearch(starts, low);
+				if (index >= 0) {
+					return true;
+				}
+				index = -index - 2;
+				return index >= 0 && low - starts[index] <= lengths[index];
+			}
+
+			@Override
+			public void forEach(final int high, final IntConsumer action) {
+				for (int i = 0; i < starts.length; i ++) {
+					for (int low = starts[i]; low <= starts[i] + lengths[i]; low ++) {
+						action.accept(high | low);
+					}
 				}
 			}
-		}		
+
+			@Override
+			public int cardinality() {
+				int cardinality = 0;
+				for (final char length : lengths) {
+					cardinality += length + 1;
+				}
+				return cardinality;
+			}
+
+			@Override
+			public long[] words() {
+				final long[] words = new long[1024];
+				for (int i = 0; i < starts.length; i ++) {
+					for (int low = starts[i]; low <= starts[i] + lengths[i]; low ++) {
+						words[low >>> 6] |= 1L << low;
+					}
+				}
+				return words;
+			}
+		}
+	}
+
+	/**
+	 * Bitmap over longs: one {@link Bitmap} per distinct high 32 bits, kept
+	 * in ascending order of the high half. Low halves are stored with their
+	 * sign bit flipped so the inner bitmap visits them in unsigned order.
+	 */
+	final static class LongBitmap implements Set<Long> {
+
+		private final int[] keys;
+		private final Bitmap[] bitmaps;
+
+		LongBitmap (final long...values) {
+			final long[] sorted = values.clone();
+			Arrays.sort(sorted);
+			int groups = 0;
+			for (int i = 0; i < sorted.length; i ++) {
+				if (i == 0 || (sorted[i] >> 32) != (sorted[i - 1] >> 32)) {
+					groups ++;
+				}
+			}
+			this.keys = new int[groups];
+			this.bitmaps = new Bitmap[groups];
+			int group = 0;
+			for (int i = 0; i < sorted.length;) {
+				final int key = (int) (sorted[i] >> 32);
+				final int[] low = new int[sorted.length - i];
+				int n = 0;
+				for (; i < sorted.length && (int) (sorted[i] >> 32) == key; i ++) {
+					low[n ++] = (int) sorted[i] ^ Integer.MIN_VALUE;
+				}
+				keys[group] = key;
+				bitmaps[group ++] = new Bitmap(Arrays.copyOf(low, n));
+			}
+		}
+
+		boolean contains (final long value) {
+			final int group = Arrays.binarySearch(keys, (int) (value >> 32));
+			return group >= 0 && bitmaps[group].contains((int) value ^ Integer.MIN_VALUE);
+		}
+
+		@Override
+		public void contains(final Long value, final Consumer<Boolean> fn) {
+			fn.accept(contains((long) value));
+		}
+
+		@Override
+		public void forEach(final Consumer<Long> action) {
+			for (int i = 0; i < keys.length; i ++) {
+				final long high = (long) keys[i] << 32;
+				bitmaps[i].forEachInt(low -> action.accept(high | ((low ^ Integer.MIN_VALUE) & 0xFFFFFFFFL)));
+			}
+		}
+
+		@Override
+		public int size() {
+			int size = 0;
+			for (final Bitmap bitmap : bitmaps) {
+				size += bitmap.size();
+			}
+			return size;
+		}
 	}
 
+	/**
+	 * Decorator reporting calls, hits, elements visited and latency in
+	 * nanoseconds to a {@link Metrics} sink.
+	 */
+	final static class Instrumented<T> implements Set<T> {
+		
+		private final Set<T> set;
+		private final Metrics metrics;
+		
+		Instrumented (final Set<T> set, final Metrics metrics) {
+			this.set = set;
+			this.metrics = metrics;
+		}
+		
+		@Override
+		public void contains(final T value, final Consumer<Boolean> fn) {
+			final long started = System.nanoTime();
+			try {
+				set.contains(value, found -> {
+					if (found) {
+						metrics.count("set.contains.hits", 1);
+					}
+					fn.accept(found);
+				});
+			} finally {
+				metrics.record("set.contains.nanos", System.nanoTime() - started);
+				metrics.count("set.contains.calls", 1);
+			}
+		}
+		
+		@Override
+		public void forEach(final Consumer<T> action) {
+			final long[] visited = {0};
+			final long started = System.nanoTime();
+			try {
+				set.forEach(t -> {
+					visited[0] ++;
+					action.accept(t);
+				});
+			} finally {
+				metrics.record("set.forEach.nanos", System.nanoTime() - started);
+				metrics.count("set.forEach.calls", 1);
+				metrics.count("set.forEach.elements", visited[0]);
+			}
+		}
+		
+		@Override
+		public int size() {
+			return set.size();
+		}
+	}
+	
 	static enum Empty implements Set<Void> {
 		INST
 		;
@@ -78,6 +773,11 @@ public interface Set<T> {
 		@Override
 		public void forEach(Consumer<Void> action) {
 			//DO NOTHING
+		}
+
+		@Override
+		public int size() {
+			return 0;
 		}	   
 	}
 }
@@ -0,0 +1,111 @@
+package object.java.collections;
+
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Persistent LIFO stack: a singly linked chain of immutable nodes with the
+ * size stored in the stack itself. Push, pop and peek are O(1) and every
+ * version shares its nodes with the versions it was derived from. As a
+ * {@link List} the top of the stack comes first, and all traversals are
+ * loops, so depth is bounded only by the heap.
+ */
+public final class Stack<T> implements List<T> {
+
+	private static final Stack<?> EMPTY_STACK = new Stack<>(null, 0);
+
+	private final Node top;
+	private final int size;
+
+	private Stack (final Node top, final int size) {
+		this.top = top;
+		this.size = size;
+	}
+
+	@SuppressWarnings("unchecked")
+	public static <T> Stack<T> empty() {
+		return (Stack<T>) EMPTY_STACK;
+	}
+
+	/**
+	 * Stack whose top is the first element of {@code list}.
+	 */
+	public static <T> Stack<T> from (final List<T> list) {
+		if (list instanceof Stack) {
+			return (Stack<T>) list;
+		}
+		final java.lang.Object[] values = new java.lang.Object[list.size()];
+		final int[] i = {0};
+		list.forEach(t -> values[i[0] ++] = t);
+		Node top = null;
+		for (int j = values.length - 1; j >= 0; j --) {
+			top = new Node(values[j], top);
+		}
+		return values.length == 0 ? empty() : new Stack<>(top, values.length);
+	}
+
+	public Stack<T> push (final T value) {
+		return new Stack<>(new Node(value, top), size + 1);
+	}
+
+	@SuppressWarnings("unchecked")
+	public void peek (final Consumer<T> action) {
+		if (size > 0) {
+			action.accept((T) top.value);
+		}
+	}
+
+	/**
+	 * Passes the top and the stack below it to {@code action}; does nothing
+	 * when the stack is empty.
+	 */
+	@SuppressWarnings("unchecked")
+	public void pop (final BiConsumer<T, Stack<T>> action) {
+		if (size > 0) {
+			action.accept((T) top.value, size == 1 ? empty() : new Stack<>(top.next, size - 1));
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public void forEach(final Consumer<T> action) {
+		for (Node node = top; node != null; node = node.next) {
+			action.accept((T) node.value);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public void forEach(final int start, final int end, final Consumer<T> action) throws IndexOutOfBoundsException {
+		if ((start < 0 || start >= size) ||
+			(end <= 0 || end > size) ||
+			(start >= end)) {
+			throw new IndexOutOfBoundsException("index out of range");
+		}
+		Node node = top;
+		for (int i = 0; i < start; i ++) {
+			node = node.next;
+		}
+		for (int i = start; i < end; i ++, node = node.next) {
+			action.accept((T) node.value);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public void forIndex(final int index, final Consumer<T> action) throws IndexOutOfBoundsException {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("index out of range");
+		}
+		Node node = top;
+		for (int i = 0; i < index; i ++) {
+			node = node.next;
+		}
+		action.accept((T) node.value);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+}
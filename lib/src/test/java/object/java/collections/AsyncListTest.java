@@ -0,0 +1,145 @@
+package object.java.collections;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import junit.framework.Assert;
+import junit.framework.TestCase;
+
+public class AsyncListTest extends TestCase {
+
+	public void testForEachCompletes() throws Exception {
+		final AtomicLong sum = new AtomicLong();
+		List.parAsync(List.repeated(100_000, 1), ForkJoinPool.commonPool(), 4)
+			.forEach(i -> sum.addAndGet(i))
+			.get(10, TimeUnit.SECONDS);
+		Assert.assertEquals(100_000L, sum.get());
+	}
+
+	public void testForEachRangeNotSplittable() throws Exception {
+		List<Integer> stack = List.empty();
+		for (int i = 0; i < 1_000; i ++) {
+			stack = List.push(1, stack);
+		}
+		final AtomicInteger count = new AtomicInteger();
+		List.parAsync(stack, Executors.newFixedThreadPool(4), 2)
+			.forEach(100, 900, i -> count.incrementAndGet())
+			.get(10, TimeUnit.SECONDS);
+		Assert.assertEquals(800, count.get());
+	}
+
+	public void testBoundedInFlight() throws Exception {
+		final AtomicInteger active = new AtomicInteger();
+		final AtomicInteger peak = new AtomicInteger();
+		List.parAsync(List.repeated(64, 1), Executors.newFixedThreadPool(8), 2)
+			.forEach(i -> {
+				peak.accumulateAndGet(active.incrementAndGet(), Math::max);
+				try {
+					Thread.sleep(1);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				active.decrementAndGet();
+			})
+			.get(10, TimeUnit.SECONDS);
+		Assert.assertTrue(peak.get() <= 2);
+	}
+
+	public void testNotSplittableStreamsSlices() throws Exception {
+		List<Integer> stack = List.empty();
+		for (int i = 0; i < 100_000; i ++) {
+			stack = List.push(i, stack);
+		}
+		final AtomicInteger active = new AtomicInteger();
+		final AtomicInteger peak = new AtomicInteger();
+		final AtomicLong sum = new AtomicLong();
+		List.parAsync(stack, Executors.newFixedThreadPool(4), 2)
+			.forEach(i -> {
+				peak.accumulateAndGet(active.incrementAndGet(), Math::max);
+				sum.addAndGet(i);
+				active.decrementAndGet();
+			})
+			.get(10, TimeUnit.SECONDS);
+		Assert.assertEquals(4_999_950_000L, sum.get());
+		Assert.assertTrue(peak.get() <= 3);
+		try {
+			List.parAsync(stack, Executors.newFixedThreadPool(4), 2)
+				.forEach(i -> {
+					if (i == 50_000) {
+						throw new IllegalStateException("boom");
+					}
+				})
+				.get(10, TimeUnit.SECONDS);
+		} catch (ExecutionException e) {
+			Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+			return;
+		}
+		Assert.assertTrue("Expected ExecutionException", false);
+	}
+
+	public void testForIndex() throws Exception {
+		final AtomicInteger v = new AtomicInteger();
+		List.parAsync(List.linkedList(1, 2, 3), ForkJoinPool.commonPool(), 1).forIndex(2, v::set).get(10, TimeUnit.SECONDS);
+		Assert.assertEquals(3, v.get());
+	}
+
+	public void testExceptionPropagates() throws Exception {
+		try {
+			List.parAsync(List.repeated(1_000, 1), ForkJoinPool.commonPool(), 4)
+				.forEach(i -> {
+					throw new IllegalStateException("boom");
+				})
+				.get(10, TimeUnit.SECONDS);
+		} catch (ExecutionException e) {
+			Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+			return;
+		}
+		Assert.assertTrue("Expected ExecutionException", false);
+	}
+
+	public void testShutDownExecutor() throws Exception {
+		final ExecutorService es = Executors.newFixedThreadPool(2);
+		es.shutdown();
+		try {
+			List.parAsync(List.repeated(1_000, 1), es, 4).forEach(i -> {}).get(10, TimeUnit.SECONDS);
+		} catch (ExecutionException e) {
+			Assert.assertTrue(e.getCause() instanceof RejectedExecutionException);
+			return;
+		}
+		Assert.assertTrue("Expected ExecutionException", false);
+	}
+
+	public void testExecutorShutDownMidRun() throws Exception {
+		final ExecutorService es = Executors.newFixedThreadPool(2);
+		final AtomicInteger seen = new AtomicInteger();
+		try {
+			List.parAsync(List.repeated(1_000, 1), es, 1)
+				.forEach(i -> {
+					if (seen.incrementAndGet() == 1) {
+						es.shutdown();
+					}
+				})
+				.get(10, TimeUnit.SECONDS);
+		} catch (ExecutionException e) {
+			Assert.assertTrue(e.getCause() instanceof RejectedExecutionException);
+			Assert.assertTrue(seen.get() < 1_000);
+			return;
+		}
+		Assert.assertTrue("Expected ExecutionException", false);
+	}
+
+	public void testIndexOutOfRange() throws Exception {
+		try {
+			List.parAsync(List.linkedList(1, 2, 3), ForkJoinPool.commonPool(), 1).forEach(0, 4, System.out::println);
+		} catch (IndexOutOfBoundsException e) {
+			return;
+		}
+		Assert.assertTrue("Expected Index Out of Bounds exception", false);
+	}
+}
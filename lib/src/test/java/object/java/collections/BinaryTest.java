@@ -0,0 +1,115 @@
+package object.java.collections;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.Assert;
+import junit.framework.TestCase;
+
+public class BinaryTest extends TestCase {
+
+	private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+	private final WritableByteChannel channel = Channels.newChannel(out);
+
+	private ByteBuffer written() {
+		return ByteBuffer.wrap(out.toByteArray());
+	}
+
+	public void testListRoundTrip() throws Exception {
+		final String values[] = new String[20_000];
+		for (int i = 0; i < values.length; i ++) {
+			values[i] = "value-" + i;
+		}
+		Binary.write(Codec.strings(), List.of(values), channel);
+		final List<String> list = Binary.list(Codec.strings(), written());
+		Assert.assertEquals(20_000, list.size());
+		final AtomicInteger v = new AtomicInteger();
+		list.forEach(s -> Assert.assertEquals("value-" + v.getAndIncrement(), s));
+		list.forIndex(777, s -> Assert.assertEquals("value-777", s));
+		final AtomicInteger r = new AtomicInteger(130);
+		list.forEach(130, 200, s -> Assert.assertEquals("value-" + r.getAndIncrement(), s));
+		Assert.assertEquals(200, r.get());
+	}
+
+	public void testStringsFramedOnce() throws Exception {
+		Binary.write(Codec.strings(), List.of("a", "\u00e9t\u00e9", "", "\ud83d\ude00"), channel);
+		Assert.assertEquals(8 + (1 + 1) + (1 + 5) + 1 + (1 + 4) + 4 + 16, out.size());
+		final ByteBuffer direct = ByteBuffer.allocateDirect(out.size());
+		direct.put(out.toByteArray()).flip();
+		final List<String> list = Binary.list(Codec.strings(), direct);
+		list.forIndex(1, s -> Assert.assertEquals("\u00e9t\u00e9", s));
+		list.forIndex(2, s -> Assert.assertEquals("", s));
+		list.forIndex(3, s -> Assert.assertEquals("\ud83d\ude00", s));
+	}
+
+	public void testStreamingWriterAndDirectBuffer() throws Exception {
+		final Binary.Writer<Double> writer = Binary.listWriter(Codec.doubles(), channel);
+		List.repeated(3, 1.5).forEach(writer::add);
+		writer.finish();
+		final ByteBuffer direct = ByteBuffer.allocateDirect(out.size());
+		direct.put(out.toByteArray()).flip();
+		final List<Double> list = Binary.list(Codec.doubles(), direct);
+		Assert.assertEquals(3, list.size());
+		list.forEach(d -> Assert.assertEquals(1.5, d, 0.0));
+	}
+
+	public void testSetRoundTrip() throws Exception {
+		Binary.write(Codec.ints(), Set.of(3, 1, 4, 15, 92), channel);
+		final Set<Integer> set = Binary.set(Codec.ints(), written());
+		Assert.assertEquals(5, set.size());
+		set.contains(92, Assert::assertTrue);
+		set.contains(2, Assert::assertFalse);
+		final AtomicInteger sum = new AtomicInteger();
+		set.forEach(sum::addAndGet);
+		Assert.assertEquals(115, sum.get());
+	}
+
+	public void testMapRoundTrip() throws Exception {
+		Binary.write(Codec.strings(), Codec.longs(), Map.of(new String[] {"a", "bb", "ccc"}, new Long[] {1L, 2L, 3L}), channel);
+		final Map<String, Long> map = Binary.map(Codec.strings(), Codec.longs(), written());
+		map.forKey("bb", v -> Assert.assertEquals(2L, (long) v));
+		map.forKey("zz", v -> Assert.assertTrue(false));
+		map.forEach((k, v) -> Assert.assertEquals(k.length(), (long) v));
+		final AtomicInteger count = new AtomicInteger();
+		map.forEachKey(k -> count.incrementAndGet());
+		map.forEachValue(v -> count.incrementAndGet());
+		Assert.assertEquals(6, count.get());
+	}
+
+	public void testPrimitiveCodecs() throws Exception {
+		final Binary.MapWriter<Character, Boolean> writer = Binary.mapWriter(Codec.chars(), Codec.booleans(), channel);
+		writer.add('x', true);
+		writer.add('y', false);
+		writer.finish();
+		final Map<Character, Boolean> map = Binary.map(Codec.chars(), Codec.booleans(), written());
+		map.forKey('x', Assert::assertTrue);
+		map.forKey('y', Assert::assertFalse);
+
+		final ByteBuffer buffer = ByteBuffer.allocate(16);
+		Codec.floats().encode(2.5f, buffer, 0);
+		Codec.shorts().encode((short) 7, buffer, 4);
+		Codec.bytes().encode((byte) -1, buffer, 6);
+		Assert.assertEquals(2.5f, Codec.floats().decode(buffer, 0), 0f);
+		Assert.assertEquals(7, (short) Codec.shorts().decode(buffer, 4));
+		Assert.assertEquals(-1, (byte) Codec.bytes().decode(buffer, 6));
+		Assert.assertEquals(4 + 2 + 1, Codec.floats().sizeOf(0f) + Codec.shorts().sizeOf((short) 0) + Codec.bytes().sizeOf((byte) 0));
+	}
+
+	public void testRejectsOtherKinds() throws Exception {
+		Binary.write(Codec.ints(), List.of(1, 2), channel);
+		try {
+			Binary.set(Codec.ints(), written());
+		} catch (IllegalArgumentException e) {
+			return;
+		}
+		Assert.assertTrue("Expected IllegalArgumentException", false);
+	}
+
+	public void testEmpty() throws Exception {
+		Binary.write(Codec.ints(), List.empty(), channel);
+		Assert.assertEquals(0, Binary.list(Codec.ints(), written()).size());
+	}
+}
@@ -0,0 +1,62 @@
+package object.java.collections;
+
+import junit.framework.Assert;
+import junit.framework.TestCase;
+
+public class BloomTest extends TestCase {
+
+	public void testNoFalseNegatives() {
+		final int hashes[] = new int[10_000];
+		for (int i = 0; i < hashes.length; i ++) {
+			hashes[i] = Map.Hashed.hash("key-" + i);
+		}
+		final Bloom bloom = Bloom.blocked(hashes, hashes.length, 0.01);
+		for (final int hash : hashes) {
+			Assert.assertTrue(bloom.mightContain(hash));
+		}
+	}
+
+	public void testFalsePositiveRate() {
+		final int hashes[] = new int[10_000];
+		for (int i = 0; i < hashes.length; i ++) {
+			hashes[i] = Map.Hashed.hash(i);
+		}
+		final Bloom bloom = Bloom.blocked(hashes, hashes.length, 0.01);
+		int positives = 0;
+		for (int i = 0; i < 100_000; i ++) {
+			if (bloom.mightContain(Map.Hashed.hash(1_000_000 + i))) {
+				positives ++;
+			}
+		}
+		Assert.assertTrue(bloom.falsePositiveRate() < 0.02);
+		Assert.assertTrue("observed " + positives, positives < 2_500);
+	}
+
+	public void testReportedRateMatchesObserved() {
+		final int hashes[] = new int[100_000];
+		for (int i = 0; i < hashes.length; i ++) {
+			hashes[i] = Map.Hashed.hash(i);
+		}
+		final Bloom bloom = Bloom.blocked(hashes, hashes.length, 0.01);
+		final int misses = 1_000_000;
+		int positives = 0;
+		for (int i = 0; i < misses; i ++) {
+			if (bloom.mightContain(Map.Hashed.hash(hashes.length + i))) {
+				positives ++;
+			}
+		}
+		final double observed = (double) positives / misses;
+		Assert.assertTrue(bloom.falsePositiveRate() <= 0.01);
+		Assert.assertTrue("observed " + observed, observed < 0.0105);
+		Assert.assertEquals(bloom.falsePositiveRate(), observed, bloom.falsePositiveRate() * 0.1);
+	}
+
+	public void testInvalidRate() {
+		try {
+			Bloom.blocked(new int[0], 0, 1.5);
+		} catch (IllegalArgumentException e) {
+			return;
+		}
+		Assert.assertTrue("Expected IllegalArgumentException", false);
+	}
+}
@@ -0,0 +1,130 @@
+package object.java.collections;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import junit.framework.Assert;
+import junit.framework.TestCase;
+
+public class CacheTest extends TestCase {
+
+	public void testLruEvictsLeastRecentlyUsed() {
+		final java.util.List<String> evicted = new java.util.ArrayList<>();
+		final Cache<String, Integer> cache = Cache.<String, Integer>builder(2)
+				.policy(Cache.Policy.LRU)
+				.listener((k, v, cause) -> evicted.add(k + ":" + cause))
+				.build();
+		cache.put("a", 1);
+		cache.put("b", 2);
+		cache.put("a", 10);
+		cache.put("c", 3);
+		Assert.assertEquals(java.util.Arrays.asList("a:REPLACED", "b:SIZE"), evicted);
+		cache.forKey("a", v -> Assert.assertEquals(10, (int) v));
+		cache.forKey("b", v -> Assert.assertTrue(false));
+		Assert.assertEquals(2, cache.size());
+	}
+
+	public void testTinyLfuKeepsFrequentEntries() {
+		final Cache<Integer, Integer> cache = Cache.<Integer, Integer>builder(100).build();
+		for (int i = 0; i < 100; i ++) {
+			cache.put(i, i);
+		}
+		for (int round = 0; round < 5; round ++) {
+			for (int i = 0; i < 50; i ++) {
+				cache.forKey(i, v -> {});
+			}
+		}
+		for (int i = 1_000; i < 2_000; i ++) {
+			cache.put(i, i);
+		}
+		final AtomicInteger hot = new AtomicInteger();
+		for (int i = 0; i < 50; i ++) {
+			cache.forKey(i, v -> hot.incrementAndGet());
+		}
+		Assert.assertTrue("hot entries kept: " + hot.get(), hot.get() >= 40);
+		Assert.assertEquals(100, cache.size());
+	}
+
+	public void testExpireAfterWriteAndAccess() {
+		final AtomicLong now = new AtomicLong();
+		final AtomicInteger expired = new AtomicInteger();
+		final Cache<String, String> cache = Cache.<String, String>builder(10)
+				.expireAfterWrite(10, TimeUnit.NANOSECONDS)
+				.expireAfterAccess(4, TimeUnit.NANOSECONDS)
+				.ticker(now::get)
+				.listener((k, v, cause) -> {
+					if (cause == Cache.Cause.EXPIRED) {
+						expired.incrementAndGet();
+					}
+				})
+				.build();
+		cache.put("k", "v");
+		now.set(3);
+		cache.forKey("k", v -> Assert.assertEquals("v", v));
+		now.set(6);
+		cache.forKey("k", v -> Assert.assertEquals("v", v));
+		now.set(9);
+		cache.forKey("k", v -> Assert.assertEquals("v", v));
+		now.set(10);
+		cache.forKey("k", v -> Assert.assertTrue(false));
+		Assert.assertEquals(1, expired.get());
+		Assert.assertNull(cache.putIfAbsent("k", "w"));
+		now.set(20);
+		cache.forEach((k, v) -> Assert.assertTrue(false));
+		cache.put("other", "x");
+		Assert.assertEquals(1, cache.size());
+	}
+
+	public void testMutableMapOperations() {
+		final Cache<String, Integer> cache = Cache.<String, Integer>builder(10).build();
+		Assert.assertNull(cache.put("a", 1));
+		Assert.assertEquals(1, (int) cache.putIfAbsent("a", 2));
+		Assert.assertEquals(3, (int) cache.compute("a", (k, v) -> v + 2));
+		final AtomicInteger count = new AtomicInteger();
+		cache.forEachKey(k -> count.incrementAndGet());
+		cache.forEachValue(v -> count.incrementAndGet());
+		Assert.assertEquals(2, count.get());
+		Assert.assertEquals(3, (int) cache.remove("a"));
+		Assert.assertEquals(0, cache.size());
+	}
+
+	public void testConcurrentAccess() throws Exception {
+		final Cache<Integer, Integer> cache = Cache.<Integer, Integer>builder(64).build();
+		final ExecutorService es = Executors.newFixedThreadPool(4);
+		try {
+			final Future<?>[] futures = new Future[4];
+			for (int t = 0; t < futures.length; t ++) {
+				final int seed = t;
+				futures[t] = es.submit(() -> {
+					for (int i = 0; i < 20_000; i ++) {
+						final int key = (i * 31 + seed) % 256;
+						if (i % 3 == 0) {
+							cache.put(key, key);
+						} else {
+							cache.forKey(key, v -> Assert.assertEquals(key, (int) v));
+						}
+					}
+				});
+			}
+			for (final Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			es.shutdown();
+		}
+		Assert.assertTrue(cache.size() <= 64);
+	}
+
+	public void testInvalidSize() {
+		try {
+			Cache.builder(0);
+		} catch (IllegalArgumentException e) {
+			return;
+		}
+		Assert.assertTrue("Expected IllegalArgumentException", false);
+	}
+}
@@ -0,0 +1,34 @@
+package object.java.collections;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.Assert;
+import junit.framework.TestCase;
+
+public class DoubleListTest extends TestCase {
+
+	public void testForEach() throws Exception {
+		final AtomicInteger v = new AtomicInteger(1);
+		DoubleList.of(0.5, 1.0, 1.5).forEach(d -> Assert.assertEquals(v.getAndIncrement() * 0.5, d, 0.0));
+	}
+
+	public void testMappedForIndex() throws Exception {
+		DoubleList.mapped(Math::sqrt, DoubleList.of(4.0, 9.0)).forIndex(1, d -> Assert.assertEquals(3.0, d, 0.0));
+	}
+
+	public void testParCount() throws Exception {
+		final AtomicInteger count = new AtomicInteger();
+		DoubleList.par(DoubleList.repeated(1_000, 1.0), Executors.newFixedThreadPool(4)).forEach(d -> count.incrementAndGet());
+		Assert.assertEquals(1_000, count.get());
+	}
+
+	public void testRepeatedNegative() throws Exception {
+		try {
+			DoubleList.repeated(-1, 7.0);
+		} catch (IllegalArgumentException e) {
+			return;
+		}
+		Assert.assertTrue("Expected IllegalArgumentException", false);
+	}
+}
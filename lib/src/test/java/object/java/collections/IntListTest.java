@@ -0,0 +1,87 @@
+package object.java.collections;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import junit.framework.Assert;
+import junit.framework.TestCase;
+
+public class IntListTest extends TestCase {
+
+	public void testEmptyList() throws Exception {
+		IntList.of().forEach(i -> Assert.assertTrue(false));
+		Assert.assertEquals(0, IntList.empty().size());
+	}
+
+	public void testForEach() throws Exception {
+		final AtomicInteger v = new AtomicInteger(1);
+		IntList.of(1, 2, 3).forEach(i -> Assert.assertEquals(v.getAndIncrement(), i));
+		Assert.assertEquals(4, v.get());
+	}
+
+	public void testForEachStartToEnd() throws Exception {
+		final AtomicInteger v = new AtomicInteger(2);
+		IntList.of(1, 2, 3, 4).forEach(1, 3, i -> Assert.assertEquals(v.getAndIncrement(), i));
+		Assert.assertEquals(4, v.get());
+	}
+
+	public void testForEachOutOfRange() throws Exception {
+		assertIndexOutOfBoundsException(() -> IntList.of(1, 2).forEach(0, 3, i -> {}));
+	}
+
+	public void testForIndex() throws Exception {
+		IntList.of(1, 2, 3).forIndex(2, i -> Assert.assertEquals(3, i));
+	}
+
+	public void testRepeated() throws Exception {
+		IntList.repeated(10, 7).forEach(0, 10, i -> Assert.assertEquals(7, i));
+		IntList.repeated(10, 7).forIndex(9, i -> Assert.assertEquals(7, i));
+		assertIndexOutOfBoundsException(() -> IntList.repeated(10, 7).forIndex(10, i -> {}));
+	}
+
+	public void testMapped() throws Exception {
+		final AtomicInteger v = new AtomicInteger(1);
+		IntList.mapped(i -> i * 2, IntList.of(1, 2, 3)).forEach(i -> Assert.assertEquals(v.getAndIncrement() * 2, i));
+		IntList.mapped(i -> i * 2, IntList.of(1, 2, 3)).forIndex(1, i -> Assert.assertEquals(4, i));
+	}
+
+	public void testParSum() throws Exception {
+		final int values[] = new int[10_000];
+		for (int i = 0; i < values.length; i ++) {
+			values[i] = i;
+		}
+		final AtomicLong sum = new AtomicLong();
+		IntList.par(IntList.of(values), Executors.newFixedThreadPool(4)).forEach(sum::addAndGet);
+		Assert.assertEquals(49_995_000L, sum.get());
+	}
+
+	public void testParForIndex() throws Exception {
+		final AtomicInteger v = new AtomicInteger();
+		IntList.par(IntList.of(1, 2, 3), Executors.newCachedThreadPool()).forIndex(1, v::set);
+		Assert.assertEquals(2, v.get());
+	}
+
+	@FunctionalInterface
+	interface Thunk {
+		void code();
+	}
+
+	private void assertIndexOutOfBoundsException(Thunk th) {
+		try {
+			th.code();
+		} catch(IndexOutOfBoundsException e) {
+			return;
+		}
+		Assert.assertTrue("Expected Index Out of Bounds exception", false);
+	}
+
+	public void testRepeatedNegative() throws Exception {
+		try {
+			IntList.repeated(-1, 7);
+		} catch (IllegalArgumentException e) {
+			return;
+		}
+		Assert.assertTrue("Expected IllegalArgumentException", false);
+	}
+}
@@ -0,0 +1,41 @@
+package object.java.collections;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.Assert;
+import junit.framework.TestCase;
+
+public class IntMapTest extends TestCase {
+
+	public void testForKey() {
+		IntMap.of(new int[] {1, 2, 0}, new String[] {"one", "two", "zero"}).forKey(2, v -> Assert.assertEquals("two", v));
+		IntMap.of(new int[] {1, 2, 0}, new String[] {"one", "two", "zero"}).forKey(0, v -> Assert.assertEquals("zero", v));
+	}
+
+	public void testForKeyMissing() {
+		IntMap.of(new int[] {1, 2}, new String[] {"one", "two"}).forKey(3, v -> Assert.assertTrue(false));
+	}
+
+	public void testForEach() {
+		final AtomicInteger count = new AtomicInteger();
+		IntMap.of(new int[] {1, 2, 3}, new Integer[] {10, 20, 30}).forEach((k, v) -> {
+			Assert.assertEquals(k * 10, (int) v);
+			count.incrementAndGet();
+		});
+		Assert.assertEquals(3, count.get());
+	}
+
+	public void testForEachKeyAndValue() {
+		final AtomicInteger keys = new AtomicInteger();
+		final AtomicInteger values = new AtomicInteger();
+		final IntMap<Integer> map = IntMap.of(new int[] {1, 2, 3}, new Integer[] {10, 20, 30});
+		map.forEachKey(keys::addAndGet);
+		map.forEachValue(values::addAndGet);
+		Assert.assertEquals(6, keys.get());
+		Assert.assertEquals(60, values.get());
+	}
+
+	public void testEmptyMap() {
+		IntMap.<String>empty().forKey(1, v -> Assert.assertTrue(false));
+	}
+}
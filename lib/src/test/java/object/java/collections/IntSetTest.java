@@ -0,0 +1,33 @@
+package object.java.collections;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.Assert;
+import junit.framework.TestCase;
+
+public class IntSetTest extends TestCase {
+
+	public void testSetNonExistent() {
+		IntSet.of(1, 2, 3).contains(4, Assert::assertFalse);
+	}
+
+	public void testSetExistent() {
+		IntSet.of(1, 2, 3).contains(2, Assert::assertTrue);
+	}
+
+	public void testSetZero() {
+		IntSet.of(0, 5).contains(0, Assert::assertTrue);
+		IntSet.of(5).contains(0, Assert::assertFalse);
+	}
+
+	public void testSetForEachDistinct() {
+		final AtomicInteger sum = new AtomicInteger();
+		IntSet.of(1, 2, 2, 3, 0, -4).forEach(sum::addAndGet);
+		Assert.assertEquals(2, sum.get());
+	}
+
+	public void testEmptySet() {
+		IntSet.empty().forEach(i -> Assert.assertTrue(false));
+		IntSet.empty().contains(0, Assert::assertFalse);
+	}
+}
@@ -1,7 +1,12 @@
 package object.java.collections;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import junit.framework.Assert;
 import junit.framework.TestCase;
@@ -52,20 +57,52 @@ public class ListTest extends TestCase {
 		List.tailList(List.of(1,2, 3), 4).forEach(0,  2, i -> Assert.assertEquals(v.getAndIncrement(), (int) i));
 	}
 	
+	public void testTailListLargeForIndex() throws Exception {
+		List<Integer> list = List.empty();
+		for (int i = 0; i < 100_000; i ++) {
+			list = List.tailList(list, i);
+		}
+		for (int i = 0; i < 100_000; i += 997) {
+			final int expected = i;
+			list.forIndex(i, v -> Assert.assertEquals(expected, (int) v));
+		}
+	}
+	
+	public void testTailListLargeForEachRange() throws Exception {
+		List<Integer> list = List.empty();
+		for (int i = 0; i < 5_000; i ++) {
+			list = List.tailList(list, i);
+		}
+		final AtomicInteger v = new AtomicInteger(1_000);
+		list.forEach(1_000, 4_100, i -> Assert.assertEquals(v.getAndIncrement(), (int) i));
+		Assert.assertEquals(4_100, v.get());
+	}
+	
+	public void testTailListPersistent() throws Exception {
+		final List<Integer> base = List.linkedList(1, 2, 3);
+		final List<Integer> left = List.tailList(base, 4);
+		final List<Integer> right = List.tailList(base, 5);
+		left.forIndex(3, i -> Assert.assertEquals(4, (int) i));
+		right.forIndex(3, i -> Assert.assertEquals(5, (int) i));
+		assertIndexOutOfBoundsException(() -> base.forIndex(3, System.out::println));
+	}
+	
 	public void testStackPush() throws Exception {
-		List.pop(List.push(1, List.push(2, List.push(3, List.empty())))).forEach(i -> Assert.assertEquals(3, (int)i ));
+		final AtomicInteger v = new AtomicInteger(2);
+		List.pop(List.push(1, List.push(2, List.push(3, List.empty())))).forEach(i -> Assert.assertEquals(v.getAndIncrement(), (int)i ));
+		Assert.assertEquals(4, v.get());
 	}
 	
 	public void testStackPushPopForIndex() throws Exception {
-		List.pop(List.push(1, List.push(2, List.push(3, List.empty())))).forIndex(0, i -> Assert.assertEquals(3, (int)i ));
+		List.pop(List.push(1, List.push(2, List.push(3, List.empty())))).forIndex(0, i -> Assert.assertEquals(2, (int)i ));
 	}
 	
 	public void testStackPushForIndexOutOfBounds() throws Exception {
-		assertIndexOutOfBoundsException(() -> List.pop(List.push(1, List.push(2, List.push(3, List.empty())))).forIndex(1, System.out::println));
+		assertIndexOutOfBoundsException(() -> List.pop(List.push(1, List.push(2, List.push(3, List.empty())))).forIndex(2, System.out::println));
 	}
 	
 	public void testStackPushForEachOutOfBounds() throws Exception {
-		assertIndexOutOfBoundsException(() -> List.pop(List.push(1, List.push(2, List.push(3, List.empty())))).forEach(0, 2, System.out::println));
+		assertIndexOutOfBoundsException(() -> List.pop(List.push(1, List.push(2, List.push(3, List.empty())))).forEach(0, 3, System.out::println));
 	}
 	
 	public void testStackPushForEach() throws Exception {
@@ -77,7 +114,7 @@ public class ListTest extends TestCase {
 	}
 	
 	public void testStackPushAndPopForEach() throws Exception {
-		List.pop(List.push(1, List.push(2, List.push(3, List.empty())))).forEach(0, 1, i -> Assert.assertEquals(3, (int)i ));
+		List.pop(List.push(1, List.push(2, List.push(3, List.empty())))).forEach(0, 1, i -> Assert.assertEquals(2, (int)i ));
 	}
 	
 	public void testRepeatedList() throws Exception {
@@ -93,15 +130,15 @@ public class ListTest extends TestCase {
 	}
 	
 	public void testQueueEnqueueForEach() throws Exception {
-		List.dequeue(List.enqueue(List.enqueue(List.empty(), 1), 2)).forEach(i -> Assert.assertEquals(1, (int) i));
+		List.dequeue(List.enqueue(List.enqueue(List.empty(), 1), 2)).forEach(i -> Assert.assertEquals(2, (int) i));
 	}
 	
 	public void testQueueEnqueueForEachStartToEnd() throws Exception {
-		List.dequeue(List.enqueue(List.enqueue(List.empty(), 1), 2)).forEach(0, 1, i -> Assert.assertEquals(1, (int) i));
+		List.dequeue(List.enqueue(List.enqueue(List.empty(), 1), 2)).forEach(0, 1, i -> Assert.assertEquals(2, (int) i));
 	}
 	
 	public void testQueueEnqueueForIndex() throws Exception {
-		List.dequeue(List.enqueue(List.enqueue(List.empty(), 1), 2)).forIndex(0, i -> Assert.assertEquals(1, (int) i));
+		List.dequeue(List.enqueue(List.enqueue(List.empty(), 1), 2)).forIndex(0, i -> Assert.assertEquals(2, (int) i));
 	}
 	
 	public void testQueueEnqueueForEachStartToEndOutOfBounds() throws Exception {
@@ -145,6 +182,96 @@ public class ListTest extends TestCase {
 		List.flatMapped(i -> List.repeated(i, i), List.linkedList(1, 2)).forIndex(2, i -> Assert.assertEquals(2, (int)2));
 	}
 	
+	public void testFlatMappedIsLazy() throws Exception {
+		final AtomicInteger calls = new AtomicInteger();
+		final List<Integer> list = List.flatMapped(i -> {
+			calls.incrementAndGet();
+			return List.repeated(i, i);
+		}, List.linkedList(1, 2, 3));
+		Assert.assertEquals(0, calls.get());
+		list.forIndex(0, i -> Assert.assertEquals(1, (int) i));
+	}
+	
+	public void testFlatMappedScansPrefix() throws Exception {
+		final AtomicInteger calls = new AtomicInteger();
+		final List<Integer> list = List.flatMapped(i -> {
+			calls.incrementAndGet();
+			return List.of(i, i);
+		}, List.range(0, 1_000_000));
+		list.forIndex(0, i -> Assert.assertEquals(0, (int) i));
+		Assert.assertEquals(1, calls.get());
+		list.forIndex(21, i -> Assert.assertEquals(10, (int) i));
+		Assert.assertTrue(calls.get() < 32);
+		Assert.assertFalse(list.splittable());
+		Assert.assertEquals(2_000_000, list.size());
+		Assert.assertEquals(1_000_000, calls.get());
+		Assert.assertTrue(list.splittable());
+		list.forIndex(1_999_999, i -> Assert.assertEquals(999_999, (int) i));
+		list.forEach(5, 8, i -> Assert.assertTrue(i == 2 || i == 3));
+		Assert.assertEquals(1_000_000, calls.get());
+	}
+	
+	public void testFilteredScansPrefix() throws Exception {
+		final AtomicInteger calls = new AtomicInteger();
+		final List<Integer> evens = List.filtered(i -> {
+			calls.incrementAndGet();
+			return i % 2 == 0;
+		}, List.range(0, 1_000_000));
+		evens.forIndex(0, i -> Assert.assertEquals(0, (int) i));
+		Assert.assertEquals(1, calls.get());
+		Assert.assertFalse(evens.splittable());
+		final AtomicLong sum = new AtomicLong();
+		List.par(evens, ForkJoinPool.commonPool()).forEach(i -> sum.addAndGet(i));
+		Assert.assertEquals(249_999_500_000L, sum.get());
+		Assert.assertEquals(1_000_000, calls.get());
+		final AtomicInteger v = new AtomicInteger(10);
+		List.filtered(i -> i % 2 == 0, List.linkedList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12))
+			.forEach(4, 6, i -> Assert.assertEquals(v.getAndAdd(2), (int) i));
+		Assert.assertEquals(14, v.get());
+	}
+	
+	public void testFlatMappedForEachMiddle() throws Exception {
+		final int values[] = new int[] {2,3,3};
+		final AtomicInteger index = new AtomicInteger();
+		List.flatMapped(i -> List.repeated(i, i), List.linkedList(1, 0, 2, 3)).forEach(2, 5, i -> Assert.assertEquals(values[index.getAndIncrement()], (int)i));
+		Assert.assertEquals(3, index.get());
+	}
+	
+	public void testFlatMappedForIndexSkipsEmpty() throws Exception {
+		List.flatMapped(i -> List.repeated(i, i), List.linkedList(1, 0, 0, 3)).forIndex(1, i -> Assert.assertEquals(3, (int) i));
+		assertIndexOutOfBoundsException(() -> List.flatMapped(i -> List.repeated(i, i), List.linkedList(1, 0)).forIndex(1, System.out::println));
+	}
+	
+	public void testFilteredList() throws Exception {
+		final AtomicInteger v = new AtomicInteger(2);
+		final List<Integer> evens = List.filtered(i -> i % 2 == 0, List.linkedList(1, 2, 3, 4, 5, 6));
+		evens.forEach(i -> Assert.assertEquals(v.getAndAdd(2), (int) i));
+		Assert.assertEquals(3, evens.size());
+		evens.forIndex(2, i -> Assert.assertEquals(6, (int) i));
+	}
+	
+	public void testFilteredListForEach() throws Exception {
+		final AtomicInteger v = new AtomicInteger(4);
+		List.filtered(i -> i % 2 == 0, List.linkedList(1, 2, 3, 4, 5, 6)).forEach(1, 3, i -> Assert.assertEquals(v.getAndAdd(2), (int) i));
+		Assert.assertEquals(8, v.get());
+		assertIndexOutOfBoundsException(() -> List.filtered(i -> i > 5, List.linkedList(1, 2)).forIndex(0, System.out::println));
+	}
+	
+	public void testFusedPipeline() throws Exception {
+		final List<Integer> list = List.filtered(i -> i > 4,
+				List.filtered(i -> i % 2 == 1,
+						List.mapped(i -> i + 1,
+								List.flatMapped(i -> List.repeated(2, i),
+										List.mapped(i -> i * 2, List.linkedList(1, 2, 3))))));
+		final int values[] = new int[] {3,3,5,5,7,7};
+		final AtomicInteger index = new AtomicInteger();
+		List.mapped(i -> i + 1, List.flatMapped(i -> List.repeated(2, i), List.mapped(i -> i * 2, List.linkedList(1, 2, 3))))
+			.forEach(i -> Assert.assertEquals(values[index.getAndIncrement()], (int) i));
+		Assert.assertEquals(4, list.size());
+		list.forIndex(2, i -> Assert.assertEquals(7, (int) i));
+		Assert.assertTrue(List.mapped(i -> i + 1, List.mapped(i -> i * 2, List.linkedList(1))) instanceof List.Mapped);
+	}
+	
 	public void testParList() throws Exception {
 		List.par(List.linkedList(1,2,3), Executors.newCachedThreadPool()).forEach(i -> System.out.printf("%d - %d\n", Thread.currentThread().getId(), i));
 	}
@@ -157,6 +284,281 @@ public class ListTest extends TestCase {
 		List.par(List.linkedList(1,2,3), Executors.newCachedThreadPool()).forEach(0, 2, i -> System.out.printf("%d - %d\n", Thread.currentThread().getId(), i));
 	}
 	
+	public void testSize() throws Exception {
+		Assert.assertEquals(0, List.empty().size());
+		Assert.assertEquals(3, List.of(1, 2, 3).size());
+		Assert.assertEquals(4, List.tailList(List.of(1, 2, 3), 4).size());
+		Assert.assertEquals(3, List.push(1, List.push(2, List.push(3, List.empty()))).size());
+		Assert.assertEquals(10, List.repeated(10, 1).size());
+		Assert.assertEquals(3, List.mapped(i -> i * 2, List.linkedList(1, 2, 3)).size());
+		Assert.assertEquals(6, List.flatMapped(i -> List.repeated(i, i), List.linkedList(1, 2, 3)).size());
+		Assert.assertEquals(0, List.pop(List.push(1, List.empty())).size());
+		Assert.assertEquals(0, List.dequeue(List.enqueue(List.empty(), 1)).size());
+		Assert.assertEquals(0, List.dequeue(List.empty()).size());
+		Assert.assertEquals(3, List.par(List.linkedList(1, 2, 3), Executors.newCachedThreadPool()).size());
+	}
+	
+	public void testStackPushForEachHeadOnly() throws Exception {
+		List.push(1, List.linkedList(2, 3)).forEach(0, 1, i -> Assert.assertEquals(1, (int) i));
+	}
+	
+	public void testStackPushForEachOutOfRange() throws Exception {
+		assertIndexOutOfBoundsException(() -> List.push(1, List.linkedList(2, 3)).forEach(0, 4, System.out::println));
+	}
+	
+	public void testPopEmptyStack() throws Exception {
+		List.pop(List.empty()).forEach(i -> Assert.assertTrue(false));
+	}
+	
+	public void testOffHeapForEach() throws Exception {
+		final AtomicInteger v = new AtomicInteger();
+		List.offHeap(Codec.ints(), List.linkedList(0, 1, 2, 3)).forEach(i -> Assert.assertEquals(v.getAndIncrement(), (int) i));
+		Assert.assertEquals(4, v.get());
+	}
+	
+	public void testOffHeapStrings() throws Exception {
+		final List<String> list = List.offHeap(Codec.strings(), List.of("Chennai", "\u00e9t\u00e9", "\ud83d\ude00", ""));
+		list.forIndex(1, s -> Assert.assertEquals("\u00e9t\u00e9", s));
+		list.forIndex(2, s -> Assert.assertEquals("\ud83d\ude00", s));
+		list.forIndex(3, s -> Assert.assertEquals("", s));
+		Assert.assertEquals(4, list.size());
+	}
+	
+	public void testOffHeapUnpairedSurrogates() throws Exception {
+		final String[] values = {"a\ud83db", "\ude00", "x\ud83d", "\ud83d\ud83d\ude00"};
+		for (final String value : values) {
+			Assert.assertEquals(Integer.BYTES + value.getBytes(java.nio.charset.StandardCharsets.UTF_8).length, Codec.strings().sizeOf(value));
+		}
+		final List<String> list = List.offHeap(Codec.strings(), List.of(values));
+		list.forIndex(0, s -> Assert.assertEquals("a?b", s));
+		list.forIndex(3, s -> Assert.assertEquals("?\ud83d\ude00", s));
+		Assert.assertEquals(4, list.size());
+	}
+	
+	public void testOffHeapChunked() throws Exception {
+		final List<Long> list = new List.OffHeap<>(Codec.longs(), List.mapped(i -> (long) i, List.repeated(100, 7)), 20);
+		final AtomicInteger count = new AtomicInteger();
+		list.forEach(10, 90, l -> {
+			Assert.assertEquals(7L, (long) l);
+			count.incrementAndGet();
+		});
+		Assert.assertEquals(80, count.get());
+		assertIndexOutOfBoundsException(() -> list.forIndex(100, System.out::println));
+	}
+	
+	public void testParForkJoinSum() throws Exception {
+		List<Integer> list = List.empty();
+		for (int i = 0; i < 100_000; i ++) {
+			list = List.tailList(list, i);
+		}
+		final AtomicLong sum = new AtomicLong();
+		List.par(list, new ForkJoinPool(4)).forEach(i -> sum.addAndGet(i));
+		Assert.assertEquals(4_999_950_000L, sum.get());
+	}
+	
+	public void testParExecutorRange() throws Exception {
+		final AtomicLong sum = new AtomicLong();
+		List.par(List.repeated(10_000, 2), Executors.newFixedThreadPool(4)).forEach(100, 9_100, i -> sum.addAndGet(i));
+		Assert.assertEquals(18_000L, sum.get());
+	}
+	
+	public void testParNotSplittable() throws Exception {
+		List<Integer> stack = List.empty();
+		for (int i = 0; i < 1_000; i ++) {
+			stack = List.push(1, stack);
+		}
+		final AtomicInteger count = new AtomicInteger();
+		List.par(stack, new ForkJoinPool(4)).forEach(i -> count.incrementAndGet());
+		Assert.assertEquals(1_000, count.get());
+	}
+	
+	public void testParForIndexWaits() throws Exception {
+		final AtomicInteger v = new AtomicInteger();
+		List.par(List.linkedList(1, 2, 3), Executors.newCachedThreadPool()).forIndex(1, v::set);
+		Assert.assertEquals(2, v.get());
+		assertIndexOutOfBoundsException(() -> List.par(List.linkedList(1, 2, 3), Executors.newCachedThreadPool()).forIndex(3, v::set));
+	}
+	
+	public void testParPropagatesException() throws Exception {
+		try {
+			List.par(List.repeated(1_000, 1), ForkJoinPool.commonPool()).forEach(i -> {
+				throw new IllegalStateException("boom");
+			});
+		} catch (IllegalStateException e) {
+			return;
+		}
+		Assert.assertTrue("Expected IllegalStateException", false);
+	}
+	
+	public void testReduce() throws Exception {
+		List.linkedList(1, 2, 3, 4).reduce(Integer::sum, i -> Assert.assertEquals(10, (int) i));
+		List.<Integer>empty().reduce(Integer::sum, i -> Assert.assertTrue(false));
+	}
+	
+	public void testFold() throws Exception {
+		List.linkedList("a", "bb", "ccc").fold(0, (n, s) -> n + s.length(), Integer::sum, n -> Assert.assertEquals(6, (int) n));
+	}
+	
+	public void testCollect() throws Exception {
+		List.linkedList(1, 2, 3).collect(StringBuilder::new, StringBuilder::append, StringBuilder::append,
+				sb -> Assert.assertEquals("123", sb.toString()));
+	}
+	
+	public void testParReduceForkJoin() throws Exception {
+		List.par(List.mapped(i -> (long) i, List.repeated(100_000, 3)), new ForkJoinPool(4))
+			.reduce(Long::sum, sum -> Assert.assertEquals(300_000L, (long) sum));
+	}
+	
+	public void testParFoldKeepsOrder() throws Exception {
+		List<Integer> list = List.empty();
+		for (int i = 0; i < 2_000; i ++) {
+			list = List.tailList(list, i % 10);
+		}
+		final StringBuilder expected = new StringBuilder();
+		list.forEach(expected::append);
+		List.par(list, Executors.newFixedThreadPool(4)).fold("", (s, i) -> s + i, String::concat,
+				s -> Assert.assertEquals(expected.toString(), s));
+	}
+	
+	public void testParCollectHistogram() throws Exception {
+		List<Integer> stack = List.empty();
+		for (int i = 0; i < 1_000; i ++) {
+			stack = List.push(i % 4, stack);
+		}
+		List.par(stack, new ForkJoinPool(4)).collect(() -> new int[4], (h, i) -> h[i] ++, (a, b) -> {
+			for (int i = 0; i < a.length; i ++) {
+				a[i] += b[i];
+			}
+		}, h -> Assert.assertTrue(java.util.Arrays.equals(new int[] {250, 250, 250, 250}, h)));
+	}
+	
+	public void testParEmptyFold() throws Exception {
+		List.par(List.<Integer>empty(), ForkJoinPool.commonPool()).fold(7, Integer::sum, Integer::sum, i -> Assert.assertEquals(7, (int) i));
+	}
+	
+	public void testMemoizedComputesOnce() throws Exception {
+		final AtomicInteger calls = new AtomicInteger();
+		final List.Memoized<Integer, Integer> memo = List.memoized(i -> {
+			calls.incrementAndGet();
+			return i * 10;
+		}, List.of(1, 2, 3, 4), 8);
+		memo.forEach(i -> {});
+		memo.forEach(1, 3, i -> {});
+		memo.forIndex(3, i -> Assert.assertEquals(40, (int) i));
+		Assert.assertEquals(4, calls.get());
+		Assert.assertEquals(4, memo.misses());
+		Assert.assertEquals(3, memo.hits());
+		Assert.assertEquals(4, memo.size());
+	}
+	
+	public void testMemoizedEvictsBeyondBound() throws Exception {
+		final AtomicInteger calls = new AtomicInteger();
+		final List.Memoized<Integer, Integer> memo = List.memoized(i -> calls.incrementAndGet(), List.repeated(8, 0), 4);
+		memo.forEach(i -> {});
+		memo.forEach(i -> {});
+		Assert.assertEquals(16, calls.get());
+		memo.forIndex(7, i -> {});
+		Assert.assertEquals(16, calls.get());
+		memo.forIndex(3, i -> {});
+		Assert.assertEquals(17, calls.get());
+	}
+	
+	public void testMemoizedConcurrentCallersComputeOnce() throws Exception {
+		final AtomicInteger calls = new AtomicInteger();
+		final CountDownLatch started = new CountDownLatch(1);
+		final List.Memoized<Integer, Integer> memo = List.memoized(i -> {
+			calls.incrementAndGet();
+			started.countDown();
+			try {
+				Thread.sleep(50);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return i + 1;
+		}, List.of(41), 1);
+		final ExecutorService es = Executors.newFixedThreadPool(4);
+		try {
+			final Future<?> first = es.submit(() -> memo.forIndex(0, i -> Assert.assertEquals(42, (int) i)));
+			started.await();
+			final Future<?>[] others = new Future[3];
+			for (int i = 0; i < others.length; i ++) {
+				others[i] = es.submit(() -> memo.forIndex(0, v -> Assert.assertEquals(42, (int) v)));
+			}
+			first.get();
+			for (final Future<?> other : others) {
+				other.get();
+			}
+		} finally {
+			es.shutdown();
+		}
+		Assert.assertEquals(1, calls.get());
+	}
+	
+	public void testMemoizedFailureIsNotCached() throws Exception {
+		final AtomicInteger calls = new AtomicInteger();
+		final List<Integer> memo = List.memoized(i -> {
+			if (calls.incrementAndGet() == 1) {
+				throw new IllegalStateException("first");
+			}
+			return i;
+		}, List.of(5), 4);
+		try {
+			memo.forIndex(0, i -> {});
+			Assert.assertTrue("Expected IllegalStateException", false);
+		} catch (IllegalStateException e) {
+		}
+		memo.forIndex(0, i -> Assert.assertEquals(5, (int) i));
+		assertIndexOutOfBoundsException(() -> memo.forIndex(1, i -> {}));
+	}
+	
+	public void testRange() throws Exception {
+		final List<Integer> range = List.range(5, 10);
+		Assert.assertEquals(5, range.size());
+		Assert.assertTrue(range.splittable());
+		final AtomicInteger v = new AtomicInteger(5);
+		range.forEach(i -> Assert.assertEquals(v.getAndIncrement(), (int) i));
+		range.forIndex(4, i -> Assert.assertEquals(9, (int) i));
+		final AtomicInteger r = new AtomicInteger(6);
+		range.forEach(1, 3, i -> Assert.assertEquals(r.getAndIncrement(), (int) i));
+		Assert.assertEquals(8, r.get());
+		Assert.assertEquals(0, List.range(3, 1).size());
+		Assert.assertEquals(0, List.range(Integer.MAX_VALUE, Integer.MIN_VALUE).size());
+		Assert.assertEquals(Integer.MAX_VALUE, List.range(0, Integer.MAX_VALUE).size());
+		assertIndexOutOfBoundsException(() -> range.forIndex(5, System.out::println));
+		List.par(List.range(0, 100_000), ForkJoinPool.commonPool()).fold(0L, (s, i) -> s + i, Long::sum,
+				s -> Assert.assertEquals(4_999_950_000L, (long) s));
+	}
+	
+	public void testRangeTooLarge() throws Exception {
+		try {
+			List.range(Integer.MIN_VALUE, Integer.MAX_VALUE);
+		} catch (IllegalArgumentException e) {
+			return;
+		}
+		Assert.assertTrue("Expected IllegalArgumentException", false);
+	}
+	
+	public void testTabulate() throws Exception {
+		final List<String> squares = List.tabulate(4, i -> Integer.toString(i * i));
+		Assert.assertTrue(squares.splittable());
+		final StringBuilder all = new StringBuilder();
+		squares.forEach(all::append);
+		Assert.assertEquals("0149", all.toString());
+		squares.forIndex(3, s -> Assert.assertEquals("9", s));
+		final StringBuilder part = new StringBuilder();
+		squares.forEach(1, 3, part::append);
+		Assert.assertEquals("14", part.toString());
+		assertIndexOutOfBoundsException(() -> squares.forEach(2, 5, System.out::println));
+	}
+	
+	public void testRepeatedLarge() throws Exception {
+		final List<String> repeated = List.repeated(Integer.MAX_VALUE, "x");
+		Assert.assertEquals(Integer.MAX_VALUE, repeated.size());
+		repeated.forIndex(Integer.MAX_VALUE - 1, s -> Assert.assertEquals("x", s));
+		assertIndexOutOfBoundsException(() -> repeated.forIndex(-1, System.out::println));
+		assertIndexOutOfBoundsException(() -> List.repeated(0, "x").forEach(0, 1, System.out::println));
+	}
+	
 	@FunctionalInterface
 	interface Thunk {
 		void code();
@@ -0,0 +1,35 @@
+package object.java.collections;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import junit.framework.Assert;
+import junit.framework.TestCase;
+
+public class LongListTest extends TestCase {
+
+	public void testForEachStartToEnd() throws Exception {
+		final AtomicLong v = new AtomicLong(2);
+		LongList.of(1L, 2L, 3L, 4L).forEach(1, 3, i -> Assert.assertEquals(v.getAndIncrement(), i));
+		Assert.assertEquals(4L, v.get());
+	}
+
+	public void testMappedForIndex() throws Exception {
+		LongList.mapped(i -> i << 32, LongList.repeated(3, 1L)).forIndex(2, i -> Assert.assertEquals(1L << 32, i));
+	}
+
+	public void testParSum() throws Exception {
+		final AtomicLong sum = new AtomicLong();
+		LongList.par(LongList.repeated(1_000, 3L), Executors.newFixedThreadPool(4)).forEach(sum::addAndGet);
+		Assert.assertEquals(3_000L, sum.get());
+	}
+
+	public void testRepeatedNegative() throws Exception {
+		try {
+			LongList.repeated(-1, 7L);
+		} catch (IllegalArgumentException e) {
+			return;
+		}
+		Assert.assertTrue("Expected IllegalArgumentException", false);
+	}
+}
@@ -0,0 +1,132 @@
+package object.java.collections;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.Assert;
+import junit.framework.TestCase;
+
+public class MapTest extends TestCase {
+
+	public void testForKey() {
+		Map.of(new String[] {"Chennai", "Dubai", "Mumbai"}, new Integer[] {1, 2, 3}).forKey("Dubai", v -> Assert.assertEquals(2, (int) v));
+	}
+
+	public void testForKeyMissing() {
+		Map.of(new String[] {"Chennai", "Dubai", "Mumbai"}, new Integer[] {1, 2, 3}).forKey("Delhi", v -> Assert.assertTrue(false));
+	}
+
+	public void testForKeyOnlyEqualKeys() {
+		final Integer[] keys = new Integer[1_000];
+		final Integer[] values = new Integer[1_000];
+		for (int i = 0; i < keys.length; i ++) {
+			keys[i] = i;
+			values[i] = i * 10;
+		}
+		final Map<Integer, Integer> map = Map.of(keys, values);
+		for (int i = 0; i < keys.length; i ++) {
+			final AtomicInteger calls = new AtomicInteger();
+			final int expected = i * 10;
+			map.forKey(i, v -> {
+				Assert.assertEquals(expected, (int) v);
+				calls.incrementAndGet();
+			});
+			Assert.assertEquals(1, calls.get());
+		}
+	}
+
+	public void testForKeyCollidingHashes() {
+		final Map<String, Integer> map = Map.of(new String[] {"Aa", "BB"}, new Integer[] {1, 2});
+		map.forKey("Aa", v -> Assert.assertEquals(1, (int) v));
+		map.forKey("BB", v -> Assert.assertEquals(2, (int) v));
+	}
+
+	public void testDuplicateKeyReplaces() {
+		Map.of(new String[] {"a", "a"}, new Integer[] {1, 2}).forKey("a", v -> Assert.assertEquals(2, (int) v));
+	}
+
+	public void testForEach() {
+		final AtomicInteger count = new AtomicInteger();
+		Map.of(new Integer[] {1, 2, 3}, new Integer[] {10, 20, 30}).forEach((k, v) -> {
+			Assert.assertEquals(k * 10, (int) v);
+			count.incrementAndGet();
+		});
+		Assert.assertEquals(3, count.get());
+	}
+
+	public void testForEachKeyAndValue() {
+		final AtomicInteger keys = new AtomicInteger();
+		final AtomicInteger values = new AtomicInteger();
+		final Map<Integer, Integer> map = Map.of(new Integer[] {1, 2, 3}, new Integer[] {10, 20, 30});
+		map.forEachKey(keys::addAndGet);
+		map.forEachValue(values::addAndGet);
+		Assert.assertEquals(6, keys.get());
+		Assert.assertEquals(60, values.get());
+	}
+
+	public void testPutAndForKey() {
+		Map<String, Integer> map = Map.empty();
+		map = Map.put(map, "Chennai", 1);
+		map = Map.put(map, "Dubai", 2);
+		map.forKey("Chennai", v -> Assert.assertEquals(1, (int) v));
+		map.forKey("Dubai", v -> Assert.assertEquals(2, (int) v));
+		map.forKey("Delhi", v -> Assert.assertTrue(false));
+	}
+
+	public void testPutIsPersistent() {
+		final Map<String, Integer> v1 = Map.put(Map.empty(), "a", 1);
+		final Map<String, Integer> v2 = Map.put(v1, "a", 2);
+		final Map<String, Integer> v3 = Map.remove(v2, "a");
+		v1.forKey("a", v -> Assert.assertEquals(1, (int) v));
+		v2.forKey("a", v -> Assert.assertEquals(2, (int) v));
+		v3.forKey("a", v -> Assert.assertTrue(false));
+	}
+
+	public void testPutOverHashedMap() {
+		final Map<String, Integer> hashed = Map.of(new String[] {"a", "b"}, new Integer[] {1, 2});
+		final Map<String, Integer> map = Map.put(hashed, "c", 3);
+		map.forKey("a", v -> Assert.assertEquals(1, (int) v));
+		map.forKey("c", v -> Assert.assertEquals(3, (int) v));
+		hashed.forKey("c", v -> Assert.assertTrue(false));
+	}
+
+	public void testPutRemoveMany() {
+		Map<Integer, Integer> map = Map.empty();
+		for (int i = 0; i < 20_000; i ++) {
+			map = Map.put(map, i, i * 2);
+		}
+		for (int i = 0; i < 20_000; i += 2) {
+			map = Map.remove(map, i);
+		}
+		final AtomicInteger count = new AtomicInteger();
+		map.forEach((k, v) -> {
+			Assert.assertEquals(1, k % 2);
+			Assert.assertEquals(k * 2, (int) v);
+			count.incrementAndGet();
+		});
+		Assert.assertEquals(10_000, count.get());
+		map.forKey(4_001, v -> Assert.assertEquals(8_002, (int) v));
+		map.forKey(4_000, v -> Assert.assertTrue(false));
+	}
+
+	public void testPutRemoveCollidingHashes() {
+		Map<String, Integer> map = Map.put(Map.put(Map.put(Map.empty(), "Aa", 1), "BB", 2), "C#", 3);
+		map.forKey("BB", v -> Assert.assertEquals(2, (int) v));
+		map = Map.remove(map, "Aa");
+		map.forKey("Aa", v -> Assert.assertTrue(false));
+		map.forKey("BB", v -> Assert.assertEquals(2, (int) v));
+		map = Map.remove(Map.remove(map, "BB"), "C#");
+		map.forEachKey(k -> Assert.assertTrue(false));
+	}
+
+	public void testGuardedMap() {
+		final Map.Hashed<String, Integer> map = Map.guarded(new String[] {"Chennai", "Dubai"}, new Integer[] {1, 2}, 0.001);
+		map.forKey("Dubai", v -> Assert.assertEquals(2, (int) v));
+		map.forKey("Delhi", v -> Assert.assertTrue(false));
+		Assert.assertTrue(map.falsePositiveRate() > 0 && map.falsePositiveRate() <= 0.001);
+	}
+
+	public void testEmptyMap() {
+		Map.empty().forKey(null, v -> Assert.assertTrue(false));
+		Map.empty().forEach((k, v) -> Assert.assertTrue(false));
+	}
+}
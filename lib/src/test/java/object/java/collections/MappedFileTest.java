@@ -0,0 +1,91 @@
+package object.java.collections;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.Assert;
+import junit.framework.TestCase;
+
+public class MappedFileTest extends TestCase {
+
+	private Path file;
+
+	@Override
+	protected void setUp() throws Exception {
+		file = Files.createTempFile("mapped", ".bin");
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		Files.deleteIfExists(file);
+	}
+
+	public void testListRoundTrip() throws Exception {
+		List.write(Codec.strings(), List.of("a", "bé", "", "𝄞 clef"), file);
+		final List<String> list = List.open(Codec.strings(), file);
+		Assert.assertEquals(4, list.size());
+		Assert.assertTrue(list.splittable());
+		list.forIndex(3, s -> Assert.assertEquals("𝄞 clef", s));
+		final StringBuilder range = new StringBuilder();
+		list.forEach(1, 3, range::append);
+		Assert.assertEquals("bé", range.toString());
+		final AtomicInteger count = new AtomicInteger();
+		list.forEach(s -> count.incrementAndGet());
+		Assert.assertEquals(4, count.get());
+	}
+
+	public void testRecordsDoNotCrossChunks() throws Exception {
+		final Integer values[] = new Integer[1_000];
+		for (int i = 0; i < values.length; i ++) {
+			values[i] = i;
+		}
+		MappedFile.writeList(Codec.ints(), List.of(values), file, 64);
+		final List<Integer> list = List.open(Codec.ints(), file);
+		final AtomicInteger v = new AtomicInteger();
+		list.forEach(i -> Assert.assertEquals(v.getAndIncrement(), (int) i));
+		list.forIndex(999, i -> Assert.assertEquals(999, (int) i));
+	}
+
+	public void testEmptyList() throws Exception {
+		List.write(Codec.ints(), List.empty(), file);
+		Assert.assertEquals(0, List.open(Codec.ints(), file).size());
+	}
+
+	public void testMapRoundTrip() throws Exception {
+		final String keys[] = new String[500];
+		final Long values[] = new Long[500];
+		for (int i = 0; i < keys.length; i ++) {
+			keys[i] = "key-" + i;
+			values[i] = i * 10L;
+		}
+		MappedFile.writeMap(Codec.strings(), Codec.longs(), Map.of(keys, values), file, 256);
+		final Map<String, Long> map = Map.open(Codec.strings(), Codec.longs(), file);
+		for (int i = 0; i < keys.length; i ++) {
+			final long expected = i * 10L;
+			map.forKey(keys[i], v -> Assert.assertEquals(expected, (long) v));
+		}
+		map.forKey("missing", v -> Assert.assertTrue(false));
+		final AtomicInteger entries = new AtomicInteger();
+		map.forEach((k, v) -> {
+			Assert.assertEquals(Long.parseLong(k.substring(4)) * 10, (long) v);
+			entries.incrementAndGet();
+		});
+		Assert.assertEquals(500, entries.get());
+		final AtomicInteger count = new AtomicInteger();
+		map.forEachKey(k -> count.incrementAndGet());
+		map.forEachValue(v -> count.incrementAndGet());
+		Assert.assertEquals(1_000, count.get());
+	}
+
+	public void testWrongKind() throws Exception {
+		List.write(Codec.ints(), List.of(1), file);
+		try {
+			Map.open(Codec.ints(), Codec.ints(), file);
+		} catch (IOException e) {
+			return;
+		}
+		Assert.assertTrue("Expected IOException", false);
+	}
+}
@@ -0,0 +1,93 @@
+package object.java.collections;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import junit.framework.Assert;
+import junit.framework.TestCase;
+
+public class MetricsTest extends TestCase {
+
+	public void testInstrumentedList() {
+		final Metrics.Registry registry = Metrics.registry();
+		final List<Integer> list = List.instrumented(List.of(1, 2, 3, 4), registry);
+		list.forEach(i -> {});
+		list.forEach(1, 3, i -> {});
+		list.forIndex(0, i -> Assert.assertEquals(1, (int) i));
+		try {
+			list.forIndex(9, i -> {});
+			Assert.assertTrue("Expected IndexOutOfBoundsException", false);
+		} catch (IndexOutOfBoundsException e) {
+		}
+		Assert.assertEquals(1, registry.counter("list.forEach.calls"));
+		Assert.assertEquals(4, registry.counter("list.forEach.elements"));
+		Assert.assertEquals(2, registry.counter("list.range.elements"));
+		Assert.assertEquals(2, registry.counter("list.forIndex.calls"));
+		Assert.assertEquals(1, registry.counter("list.forIndex.elements"));
+		Assert.assertEquals(1, registry.counter("list.outOfRange"));
+		Assert.assertEquals(2, registry.histogram("list.forIndex.nanos").count());
+		Assert.assertEquals(4, list.size());
+	}
+
+	public void testInstrumentedSetAndMap() {
+		final Metrics.Registry registry = Metrics.registry();
+		final Set<String> set = Set.instrumented(Set.of("a", "b"), registry);
+		set.contains("a", Assert::assertTrue);
+		set.contains("z", Assert::assertFalse);
+		set.forEach(s -> {});
+		Assert.assertEquals(2, registry.counter("set.contains.calls"));
+		Assert.assertEquals(1, registry.counter("set.contains.hits"));
+		Assert.assertEquals(2, registry.counter("set.forEach.elements"));
+		Assert.assertEquals(2, set.size());
+
+		final Map<String, Integer> map = Map.instrumented(Map.of(new String[] {"a", "b"}, new Integer[] {1, 2}), registry);
+		map.forKey("a", v -> Assert.assertEquals(1, (int) v));
+		map.forKey("z", v -> Assert.assertTrue(false));
+		map.forEach((k, v) -> {});
+		map.forEachKey(k -> {});
+		map.forEachValue(v -> {});
+		Assert.assertEquals(2, registry.counter("map.forKey.calls"));
+		Assert.assertEquals(1, registry.counter("map.forKey.elements"));
+		Assert.assertEquals(2, registry.counter("map.forEach.elements"));
+		Assert.assertEquals(2, registry.counter("map.forEachKey.elements"));
+		Assert.assertEquals(2, registry.counter("map.forEachValue.elements"));
+	}
+
+	public void testParQueueLatency() {
+		final Metrics.Registry registry = Metrics.registry();
+		final ExecutorService es = Executors.newFixedThreadPool(2);
+		try {
+			List.par(List.linkedList(1, 2, 3, 4, 5, 6, 7, 8), es, registry).reduce(Integer::sum, s -> Assert.assertEquals(36, (int) s));
+		} finally {
+			es.shutdown();
+		}
+		Assert.assertTrue(registry.counter("par.tasks") > 0);
+		Assert.assertEquals(registry.counter("par.tasks"), registry.histogram("par.queued.nanos").count());
+		Assert.assertEquals(1, registry.histogram("par.fold.nanos").count());
+	}
+
+	public void testHistogramQuantiles() {
+		final Metrics.Histogram histogram = Metrics.registry().histogram("h");
+		Assert.assertEquals(0, histogram.quantile(0.5));
+		for (int i = 0; i < 90; i ++) {
+			histogram.record(100);
+		}
+		for (int i = 0; i < 10; i ++) {
+			histogram.record(100_000);
+		}
+		histogram.record(0);
+		Assert.assertEquals(101, histogram.count());
+		Assert.assertEquals(127, histogram.quantile(0.5));
+		Assert.assertEquals(131_071, histogram.quantile(0.99));
+	}
+
+	public void testRegistryListing() {
+		final Metrics.Registry registry = Metrics.registry();
+		registry.count("a", 2);
+		registry.record("b", 5);
+		registry.forEachCounter((name, value) -> Assert.assertEquals(2, (long) value));
+		registry.forEachHistogram((name, h) -> Assert.assertEquals(1, h.count()));
+		Metrics.none().count("a", 1);
+		Metrics.none().record("a", 1);
+	}
+}
@@ -0,0 +1,83 @@
+package object.java.collections;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.Assert;
+import junit.framework.TestCase;
+
+public class MutableMapTest extends TestCase {
+
+	public void testPutAndForKey() {
+		final MutableMap<String, Integer> map = MutableMap.concurrent();
+		Assert.assertNull(map.put("Chennai", 1));
+		Assert.assertEquals(1, (int) map.put("Chennai", 2));
+		map.forKey("Chennai", v -> Assert.assertEquals(2, (int) v));
+		map.forKey("Dubai", v -> Assert.assertTrue(false));
+	}
+
+	public void testPutIfAbsent() {
+		final MutableMap<String, Integer> map = MutableMap.concurrent();
+		Assert.assertNull(map.putIfAbsent("a", 1));
+		Assert.assertEquals(1, (int) map.putIfAbsent("a", 2));
+		map.forKey("a", v -> Assert.assertEquals(1, (int) v));
+	}
+
+	public void testComputeAndRemove() {
+		final MutableMap<String, Integer> map = MutableMap.concurrent();
+		Assert.assertEquals(1, (int) map.compute("a", (k, v) -> v == null ? 1 : v + 1));
+		Assert.assertEquals(2, (int) map.compute("a", (k, v) -> v == null ? 1 : v + 1));
+		Assert.assertNull(map.compute("a", (k, v) -> null));
+		map.forKey("a", v -> Assert.assertTrue(false));
+		map.put("b", 1);
+		Assert.assertEquals(1, (int) map.remove("b"));
+		Assert.assertNull(map.remove("b"));
+	}
+
+	public void testCollidingKeys() {
+		final MutableMap<String, Integer> map = MutableMap.concurrent(1);
+		map.put("Aa", 1);
+		map.put("BB", 2);
+		map.put("C#", 3);
+		map.remove("BB");
+		map.forKey("Aa", v -> Assert.assertEquals(1, (int) v));
+		map.forKey("BB", v -> Assert.assertTrue(false));
+		map.forKey("C#", v -> Assert.assertEquals(3, (int) v));
+	}
+
+	public void testGrowth() {
+		final MutableMap<Integer, Integer> map = MutableMap.concurrent(2);
+		for (int i = 0; i < 10_000; i ++) {
+			map.put(i, i);
+		}
+		final AtomicInteger count = new AtomicInteger();
+		map.forEach((k, v) -> {
+			Assert.assertEquals(k, v);
+			count.incrementAndGet();
+		});
+		Assert.assertEquals(10_000, count.get());
+	}
+
+	public void testConcurrentCompute() throws Exception {
+		final MutableMap<Integer, Integer> map = MutableMap.concurrent();
+		final ExecutorService es = Executors.newFixedThreadPool(8);
+		final Future<?>[] futures = new Future<?>[8];
+		for (int t = 0; t < futures.length; t ++) {
+			futures[t] = es.submit(() -> {
+				for (int i = 0; i < 10_000; i ++) {
+					map.compute(i % 100, (k, v) -> v == null ? 1 : v + 1);
+					map.forKey(i % 100, v -> Assert.assertTrue(v > 0));
+				}
+			});
+		}
+		for (final Future<?> future : futures) {
+			future.get();
+		}
+		es.shutdown();
+		final AtomicInteger total = new AtomicInteger();
+		map.forEachValue(total::addAndGet);
+		Assert.assertEquals(80_000, total.get());
+	}
+}
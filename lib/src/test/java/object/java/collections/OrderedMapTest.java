@@ -0,0 +1,99 @@
+package object.java.collections;
+
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.Assert;
+import junit.framework.TestCase;
+
+public class OrderedMapTest extends TestCase {
+
+	public void testMatchesTreeMap() {
+		final SplittableRandom random = new SplittableRandom(7);
+		final long keys[] = new long[50_000];
+		final String values[] = new String[keys.length];
+		final TreeMap<Long, String> expected = new TreeMap<>();
+		for (int i = 0; i < keys.length; i ++) {
+			keys[i] = random.nextLong(1_000_000);
+			values[i] = "v" + i;
+			expected.put(keys[i], values[i]);
+		}
+		final OrderedMap<Long, String> map = OrderedMap.longs(keys, values);
+		Assert.assertEquals(expected.size(), map.size());
+		for (int i = 0; i < 2_000; i ++) {
+			final long probe = random.nextLong(-10, 1_000_010);
+			final String[] found = {null};
+			map.forKey(probe, v -> found[0] = v);
+			Assert.assertEquals(expected.get(probe), found[0]);
+			final Long[] floor = {null};
+			map.floor(probe, (k, v) -> floor[0] = k);
+			Assert.assertEquals(expected.floorKey(probe), floor[0]);
+			final Long[] ceiling = {null};
+			map.ceiling(probe, (k, v) -> ceiling[0] = k);
+			Assert.assertEquals(expected.ceilingKey(probe), ceiling[0]);
+		}
+		final java.util.List<Long> range = new java.util.ArrayList<>();
+		map.forRange(250_000L, 260_000L, (k, v) -> range.add(k));
+		Assert.assertEquals(new java.util.ArrayList<>(expected.subMap(250_000L, 260_000L).keySet()), range);
+	}
+
+	public void testOrderedTraversalAndDuplicates() {
+		final OrderedMap<String, Integer> map = OrderedMap.of(new String[] {"pear", "apple", "fig", "apple"}, new Integer[] {1, 2, 3, 4});
+		Assert.assertEquals(3, map.size());
+		final StringBuilder keys = new StringBuilder();
+		map.forEachKey(k -> keys.append(k).append(' '));
+		Assert.assertEquals("apple fig pear ", keys.toString());
+		map.forKey("apple", v -> Assert.assertEquals(4, (int) v));
+		final AtomicInteger sum = new AtomicInteger();
+		map.forEachValue(sum::addAndGet);
+		map.forEach((k, v) -> sum.addAndGet(v));
+		Assert.assertEquals(16, sum.get());
+		map.floor("a", (k, v) -> Assert.assertTrue(false));
+		map.ceiling("q", (k, v) -> Assert.assertTrue(false));
+		map.ceiling("b", (k, v) -> Assert.assertEquals("fig", k));
+	}
+
+	public void testLaterDuplicateWins() {
+		final Integer[] keys = new Integer[10_000];
+		final Integer[] values = new Integer[keys.length];
+		for (int i = 0; i < keys.length; i ++) {
+			keys[i] = (i * 37) % 100;
+			values[i] = i;
+		}
+		final OrderedMap<Integer, Integer> map = OrderedMap.of(keys, values);
+		Assert.assertEquals(100, map.size());
+		final AtomicInteger previous = new AtomicInteger(-1);
+		map.forEach((k, v) -> {
+			Assert.assertTrue(k > previous.getAndSet(k));
+			Assert.assertEquals((int) k, (v * 37) % 100);
+			Assert.assertTrue(v >= keys.length - 100);
+		});
+	}
+
+	public void testComparatorAndEmpty() {
+		final OrderedMap<Integer, String> reversed = OrderedMap.of(Comparator.reverseOrder(), new Integer[] {1, 2, 3}, new String[] {"a", "b", "c"});
+		reversed.ceiling(2, (k, v) -> Assert.assertEquals("b", v));
+		reversed.floor(0, (k, v) -> Assert.assertEquals(1, (int) k));
+		final OrderedMap<Long, String> empty = OrderedMap.longs(new long[0], new String[0]);
+		Assert.assertEquals(0, empty.size());
+		empty.forKey(1L, v -> Assert.assertTrue(false));
+		empty.forRange(0L, 10L, (k, v) -> Assert.assertTrue(false));
+	}
+
+	public void testOrderedSet() {
+		final OrderedSet<Long> set = OrderedSet.longs(40, 10, 30, 20, 10);
+		Assert.assertEquals(4, set.size());
+		set.contains(30L, Assert::assertTrue);
+		set.contains(35L, Assert::assertFalse);
+		set.floor(35L, v -> Assert.assertEquals(30L, (long) v));
+		set.ceiling(35L, v -> Assert.assertEquals(40L, (long) v));
+		final StringBuilder range = new StringBuilder();
+		set.forRange(15L, 40L, v -> range.append(v).append(' '));
+		Assert.assertEquals("20 30 ", range.toString());
+		final StringBuilder all = new StringBuilder();
+		OrderedSet.of("c", "a", "b").forEach(all::append);
+		Assert.assertEquals("abc", all.toString());
+	}
+}
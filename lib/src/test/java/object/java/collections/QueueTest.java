@@ -0,0 +1,113 @@
+package object.java.collections;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.Assert;
+import junit.framework.TestCase;
+
+public class QueueTest extends TestCase {
+
+	public void testFifoOrder() {
+		Queue<Integer> queue = Queue.empty();
+		for (int i = 0; i < 100; i ++) {
+			queue = queue.enqueue(i);
+		}
+		final AtomicInteger expected = new AtomicInteger();
+		final Queue<Integer>[] current = new Queue[] {queue};
+		while (current[0].size() > 0) {
+			current[0].dequeue((head, rest) -> {
+				Assert.assertEquals(expected.getAndIncrement(), (int) head);
+				current[0] = rest;
+			});
+		}
+		Assert.assertEquals(100, expected.get());
+	}
+
+	public void testInterleaved() {
+		final Queue<Integer> queue = Queue.of(1, 2);
+		queue.dequeue((head, rest) -> {
+			Assert.assertEquals(1, (int) head);
+			rest.enqueue(3).enqueue(4).dequeue((next, remaining) -> {
+				Assert.assertEquals(2, (int) next);
+				Assert.assertEquals(2, remaining.size());
+				remaining.peek(i -> Assert.assertEquals(3, (int) i));
+			});
+		});
+	}
+
+	public void testPersistence() {
+		final Queue<Integer> queue = Queue.of(1, 2, 3);
+		final Queue<Integer> longer = queue.enqueue(4);
+		Assert.assertEquals(3, queue.size());
+		Assert.assertEquals(4, longer.size());
+		longer.forIndex(3, i -> Assert.assertEquals(4, (int) i));
+		queue.dequeue((head, rest) -> Assert.assertEquals(1, (int) head));
+		queue.dequeue((head, rest) -> Assert.assertEquals(2, rest.size()));
+		queue.peek(i -> Assert.assertEquals(1, (int) i));
+	}
+
+	public void testListTraversal() {
+		final Queue<Integer> queue = Queue.of(0).enqueue(1).enqueue(2).enqueue(3).enqueue(4);
+		final AtomicInteger v = new AtomicInteger();
+		queue.forEach(i -> Assert.assertEquals(v.getAndIncrement(), (int) i));
+		Assert.assertEquals(5, v.get());
+		final AtomicInteger r = new AtomicInteger(1);
+		queue.forEach(1, 4, i -> Assert.assertEquals(r.getAndIncrement(), (int) i));
+		Assert.assertEquals(4, r.get());
+		for (int i = 0; i < 5; i ++) {
+			final int index = i;
+			queue.forIndex(i, v2 -> Assert.assertEquals(index, (int) v2));
+		}
+	}
+
+	public void testEmpty() {
+		Queue.<Integer>empty().dequeue((head, rest) -> Assert.assertTrue(false));
+		Queue.<Integer>empty().peek(i -> Assert.assertTrue(false));
+		Assert.assertEquals(0, Queue.empty().size());
+		try {
+			Queue.empty().forIndex(0, System.out::println);
+		} catch (IndexOutOfBoundsException e) {
+			return;
+		}
+		Assert.assertTrue("Expected IndexOutOfBoundsException", false);
+	}
+
+	public void testListEnqueue() {
+		final List<Integer> queue = List.enqueue(List.enqueue(List.empty(), 1), 2);
+		Assert.assertTrue(queue instanceof Queue);
+		Assert.assertEquals(2, queue.size());
+		List.dequeue(queue).forEach(i -> Assert.assertEquals(2, (int) i));
+		final List<Integer> onList = List.enqueue(List.of(1, 2), 3);
+		Assert.assertTrue(onList instanceof Queue);
+		final int[] heads = {0};
+		List.dequeue(onList, (head, rest) -> {
+			Assert.assertEquals(1, (int) head);
+			Assert.assertEquals(2, rest.size());
+			rest.peek(i -> Assert.assertEquals(2, (int) i));
+			heads[0] ++;
+		});
+		Assert.assertEquals(1, heads[0]);
+		List.dequeue(List.<Integer>empty(), (head, rest) -> Assert.assertTrue(false));
+	}
+
+	public void testReusedVersion() {
+		Queue<Integer> queue = Queue.empty();
+		for (int i = 0; i < 100_000; i ++) {
+			queue = queue.enqueue(i);
+		}
+		final Queue<Integer> shared = queue;
+		for (int i = 0; i < 100_000; i ++) {
+			final int value = i;
+			shared.enqueue(-1).dequeue((head, rest) -> {
+				Assert.assertEquals(0, (int) head);
+				Assert.assertEquals(100_000, rest.size());
+				rest.forIndex(99_999, last -> Assert.assertEquals(-1, (int) last));
+				rest.dequeue((next, remaining) -> Assert.assertEquals(1, (int) next));
+			});
+			shared.enqueue(value).dequeue((head, rest) -> rest.peek(next -> Assert.assertEquals(1, (int) next)));
+		}
+		final AtomicInteger expected = new AtomicInteger();
+		shared.forEach(i -> Assert.assertEquals(expected.getAndIncrement(), (int) i));
+		Assert.assertEquals(100_000, expected.get());
+	}
+}
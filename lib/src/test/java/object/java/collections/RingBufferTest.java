@@ -0,0 +1,161 @@
+package object.java.collections;
+
+import java.util.Iterator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import junit.framework.Assert;
+import junit.framework.TestCase;
+
+public class RingBufferTest extends TestCase {
+
+	public void testBounded() {
+		final RingBuffer<Integer> ring = new RingBuffer<>(3);
+		Assert.assertEquals(4, ring.capacity());
+		for (int i = 0; i < 4; i ++) {
+			Assert.assertTrue(ring.offer(i));
+		}
+		Assert.assertFalse(ring.offer(4));
+		Assert.assertEquals(4, ring.size());
+		Assert.assertEquals(0, ring.remainingCapacity());
+		Assert.assertEquals(0, (int) ring.peek());
+		for (int i = 0; i < 4; i ++) {
+			Assert.assertEquals(i, (int) ring.poll());
+		}
+		Assert.assertNull(ring.poll());
+		Assert.assertNull(ring.peek());
+	}
+
+	public void testBatch() {
+		final RingBuffer<Integer> ring = new RingBuffer<>(8);
+		Assert.assertEquals(8, ring.offerAll(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9)));
+		final AtomicInteger v = new AtomicInteger();
+		Assert.assertEquals(5, ring.drain(i -> Assert.assertEquals(v.getAndIncrement(), (int) i), 5));
+		Assert.assertEquals(2, ring.offerAll(List.of(8, 9)));
+		final java.util.List<Integer> rest = new java.util.ArrayList<>();
+		Assert.assertEquals(5, ring.drainTo(rest));
+		Assert.assertEquals(java.util.Arrays.asList(5, 6, 7, 8, 9), rest);
+		Assert.assertTrue(ring.isEmpty());
+	}
+
+	public void testProducersAndConsumers() throws Exception {
+		for (final RingBuffer.Wait wait : new RingBuffer.Wait[] {RingBuffer.Wait.YIELD, RingBuffer.Wait.PARK}) {
+			final RingBuffer<Integer> ring = new RingBuffer<>(64, wait);
+			final int producers = 3;
+			final int perProducer = 20_000;
+			final AtomicLong sum = new AtomicLong();
+			final AtomicInteger taken = new AtomicInteger();
+			final Thread[] threads = new Thread[producers * 2];
+			for (int p = 0; p < producers; p ++) {
+				threads[p] = new Thread(() -> {
+					try {
+						for (int i = 1; i <= perProducer; i ++) {
+							ring.put(i);
+						}
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				});
+				threads[producers + p] = new Thread(() -> {
+					try {
+						for (int i = 0; i < perProducer; i ++) {
+							sum.addAndGet(ring.take());
+							taken.incrementAndGet();
+						}
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				});
+			}
+			for (final Thread thread : threads) {
+				thread.start();
+			}
+			for (final Thread thread : threads) {
+				thread.join();
+			}
+			Assert.assertEquals(producers * perProducer, taken.get());
+			Assert.assertEquals((long) producers * perProducer * (perProducer + 1) / 2, sum.get());
+		}
+	}
+
+	public void testSpinSingleProducerSingleConsumer() throws Exception {
+		final RingBuffer<Integer> ring = new RingBuffer<>(64, RingBuffer.Wait.SPIN);
+		final Thread producer = new Thread(() -> {
+			try {
+				for (int i = 1; i <= 1_000; i ++) {
+					ring.put(i);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		producer.start();
+		long sum = 0;
+		for (int i = 0; i < 1_000; i ++) {
+			sum += ring.take();
+		}
+		producer.join();
+		Assert.assertEquals(500_500L, sum);
+	}
+
+	public void testExecutorFeedsPar() {
+		final ExecutorService es = RingBuffer.executor(2, 4, RingBuffer.Wait.PARK);
+		try {
+			final Integer values[] = new Integer[10_000];
+			for (int i = 0; i < values.length; i ++) {
+				values[i] = i;
+			}
+			List.par(List.of(values), es).reduce(Integer::sum, s -> Assert.assertEquals(49_995_000, (int) s));
+		} finally {
+			es.shutdown();
+		}
+	}
+
+	public void testIterator() {
+		final RingBuffer<Integer> ring = new RingBuffer<>(4);
+		ring.offerAll(List.of(0, 1, 2, 3));
+		ring.poll();
+		ring.offer(4);
+		final Iterator<Integer> it = ring.iterator();
+		for (int i = 1; i <= 4; i ++) {
+			Assert.assertTrue(it.hasNext());
+			Assert.assertEquals(i, (int) it.next());
+		}
+		Assert.assertFalse(it.hasNext());
+
+		Assert.assertTrue(ring.remove(2));
+		Assert.assertFalse(ring.remove(2));
+		Assert.assertTrue(ring.remove(1));
+		Assert.assertEquals(3, (int) ring.peek());
+		Assert.assertEquals(3, (int) ring.poll());
+		final java.util.List<Integer> rest = new java.util.ArrayList<>();
+		ring.drainTo(rest);
+		Assert.assertEquals(java.util.Arrays.asList(4), rest);
+		Assert.assertNull(ring.poll());
+	}
+
+	public void testExecutorPurgeAndShutdownNow() throws Exception {
+		final ThreadPoolExecutor es = (ThreadPoolExecutor) RingBuffer.executor(1, 4, RingBuffer.Wait.PARK);
+		final CountDownLatch release = new CountDownLatch(1);
+		es.execute(() -> {
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		final Future<?> cancelled = es.submit(() -> {});
+		final Future<?> removed = es.submit(() -> {});
+		es.submit(() -> {});
+		cancelled.cancel(false);
+		es.purge();
+		Assert.assertTrue(es.remove((Runnable) removed));
+		Assert.assertEquals(1, es.shutdownNow().size());
+		release.countDown();
+		Assert.assertTrue(es.awaitTermination(10, java.util.concurrent.TimeUnit.SECONDS));
+	}
+}
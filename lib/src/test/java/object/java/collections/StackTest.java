@@ -0,0 +1,82 @@
+package object.java.collections;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.Assert;
+import junit.framework.TestCase;
+
+public class StackTest extends TestCase {
+
+	public void testLifoOrder() {
+		final Stack<Integer> stack = Stack.<Integer>empty().push(1).push(2).push(3);
+		stack.pop((top, rest) -> {
+			Assert.assertEquals(3, (int) top);
+			Assert.assertEquals(2, rest.size());
+			rest.peek(i -> Assert.assertEquals(2, (int) i));
+		});
+		final AtomicInteger v = new AtomicInteger(3);
+		stack.forEach(i -> Assert.assertEquals(v.getAndDecrement(), (int) i));
+		stack.forEach(1, 3, i -> Assert.assertTrue(i < 3));
+		stack.forIndex(2, i -> Assert.assertEquals(1, (int) i));
+	}
+
+	public void testPersistence() {
+		final Stack<Integer> base = Stack.<Integer>empty().push(1);
+		final Stack<Integer> left = base.push(2);
+		final Stack<Integer> right = base.push(3);
+		left.peek(i -> Assert.assertEquals(2, (int) i));
+		right.peek(i -> Assert.assertEquals(3, (int) i));
+		Assert.assertEquals(1, base.size());
+	}
+
+	public void testDeepStack() {
+		Stack<Integer> stack = Stack.empty();
+		for (int i = 0; i < 2_000_000; i ++) {
+			stack = stack.push(i);
+		}
+		final long[] sum = {0};
+		stack.forEach(i -> sum[0] += i);
+		Assert.assertEquals(2_000_000L * 1_999_999 / 2, sum[0]);
+		final Stack<Integer>[] current = new Stack[] {stack};
+		final int[] popped = {0};
+		while (current[0].size() > 0) {
+			current[0].pop((top, rest) -> {
+				popped[0] ++;
+				current[0] = rest;
+			});
+		}
+		Assert.assertEquals(2_000_000, popped[0]);
+	}
+
+	public void testEmpty() {
+		Stack.<Integer>empty().pop((top, rest) -> Assert.assertTrue(false));
+		Stack.<Integer>empty().peek(i -> Assert.assertTrue(false));
+		Assert.assertEquals(0, Stack.empty().size());
+	}
+
+	public void testListPush() {
+		final List<Integer> stack = List.push(1, List.push(2, List.empty()));
+		Assert.assertTrue(stack instanceof Stack);
+		stack.forIndex(0, i -> Assert.assertEquals(1, (int) i));
+		final List<Integer> onList = List.push(0, List.of(1, 2));
+		final AtomicInteger v = new AtomicInteger();
+		onList.forEach(i -> Assert.assertEquals(v.getAndIncrement(), (int) i));
+	}
+
+	public void testListPop() {
+		final boolean[] called = {false};
+		List.pop(List.of(1, 2, 3), (top, rest) -> {
+			Assert.assertEquals(1, (int) top);
+			Assert.assertEquals(2, rest.size());
+			rest.peek(i -> Assert.assertEquals(2, (int) i));
+			called[0] = true;
+		});
+		Assert.assertTrue(called[0]);
+		final Stack<Integer> stack = Stack.<Integer>empty().push(1).push(2);
+		List.pop(stack, (top, rest) -> {
+			Assert.assertEquals(2, (int) top);
+			rest.forEach(i -> Assert.assertEquals(1, (int) i));
+		});
+		List.pop(List.<Integer>empty(), (top, rest) -> Assert.assertTrue(false));
+	}
+}
@@ -1,5 +1,9 @@
 package object.java.collections;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import junit.framework.Assert;
 import junit.framework.TestCase;
 
@@ -24,4 +28,154 @@ public class TestSet extends TestCase {
 	public void testEmptySetContains() {
 		Set.empty().contains(null, Assert::assertFalse);
 	}
+	
+	public void testBitmapContains() {
+		final Set<Integer> set = Set.bitmap(5, 1, 70_000, -3, 5);
+		set.contains(5, Assert::assertTrue);
+		set.contains(70_000, Assert::assertTrue);
+		set.contains(-3, Assert::assertTrue);
+		set.contains(4, Assert::assertFalse);
+		set.contains(-70_000, Assert::assertFalse);
+	}
+	
+	public void testBitmapForEachAscending() {
+		final int values[] = new int[] {Integer.MIN_VALUE, -3, 0, 1, 5, 70_000, Integer.MAX_VALUE};
+		final AtomicInteger index = new AtomicInteger();
+		Set.bitmap(5, 70_000, 1, Integer.MAX_VALUE, -3, 0, Integer.MIN_VALUE, 1).forEach(i -> Assert.assertEquals(values[index.getAndIncrement()], (int) i));
+		Assert.assertEquals(values.length, index.get());
+	}
+	
+	public void testBitmapContainers() {
+		final int dense[] = new int[10_000];
+		final int runs[] = new int[20_000];
+		for (int i = 0; i < dense.length; i ++) {
+			dense[i] = (i * 7) % 65_536;
+		}
+		for (int i = 0; i < runs.length; i ++) {
+			runs[i] = 1_000_000 + i;
+		}
+		final Set<Integer> bits = Set.bitmap(dense);
+		bits.contains(7 * 100, Assert::assertTrue);
+		bits.contains(7 * 100 + 1, Assert::assertFalse);
+		final Set<Integer> run = Set.bitmap(runs);
+		run.contains(1_000_000, Assert::assertTrue);
+		run.contains(1_019_999, Assert::assertTrue);
+		run.contains(1_020_000, Assert::assertFalse);
+		run.contains(999_999, Assert::assertFalse);
+		final AtomicInteger next = new AtomicInteger(1_000_000);
+		run.forEach(i -> Assert.assertEquals(next.getAndIncrement(), (int) i));
+		Assert.assertEquals(1_020_000, next.get());
+		final AtomicInteger count = new AtomicInteger();
+		final AtomicInteger previous = new AtomicInteger(-1);
+		bits.forEach(i -> {
+			Assert.assertTrue(i > previous.getAndSet(i));
+			count.incrementAndGet();
+		});
+		Assert.assertEquals(10_000, count.get());
+	}
+	
+	public void testLongBitmap() {
+		final long values[] = new long[] {Long.MIN_VALUE, -1L, 0L, 1L << 32, (1L << 32) + 0xFFFFFFFFL, Long.MAX_VALUE};
+		final Set<Long> set = Set.longBitmap(Long.MAX_VALUE, 0L, -1L, (1L << 32) + 0xFFFFFFFFL, 1L << 32, Long.MIN_VALUE);
+		final AtomicInteger index = new AtomicInteger();
+		set.forEach(l -> Assert.assertEquals(values[index.getAndIncrement()], (long) l));
+		Assert.assertEquals(values.length, index.get());
+		set.contains(1L << 32, Assert::assertTrue);
+		set.contains(1L << 33, Assert::assertFalse);
+		set.contains(-1L, Assert::assertTrue);
+	}
+	
+	public void testSetNonExistentCallsBack() {
+		final AtomicInteger calls = new AtomicInteger();
+		Set.of("Chennai", "Bangalore").contains("Dubai", found -> {
+			Assert.assertFalse(found);
+			calls.incrementAndGet();
+		});
+		Assert.assertEquals(1, calls.get());
+	}
+	
+	public void testSetSizeDistinct() {
+		Assert.assertEquals(2, Set.of("Apple", "Mango", "Apple").size());
+		Assert.assertEquals(3, Set.bitmap(1, 2, 2, 70_000).size());
+		Assert.assertEquals(0, Set.empty().size());
+	}
+	
+	public void testUnion() {
+		final Set<String> union = Set.union(Set.of("a", "b"), Set.of("b", "c"));
+		Assert.assertEquals(3, union.size());
+		union.contains("c", Assert::assertTrue);
+	}
+	
+	public void testIntersection() {
+		final Set<String> common = Set.intersection(Set.of("a", "b", "c", "d"), Set.of("b", "d", "e"));
+		Assert.assertEquals(2, common.size());
+		common.contains("d", Assert::assertTrue);
+		common.contains("a", Assert::assertFalse);
+	}
+	
+	public void testDifference() {
+		final Set<String> difference = Set.difference(Set.of("a", "b", "c"), Set.of("b"));
+		Assert.assertEquals(2, difference.size());
+		difference.contains("b", Assert::assertFalse);
+	}
+	
+	public void testSymmetricDifference() {
+		final Set<String> difference = Set.symmetricDifference(Set.of("a", "b", "c"), Set.of("c", "d"));
+		Assert.assertEquals(3, difference.size());
+		difference.contains("d", Assert::assertTrue);
+		difference.contains("c", Assert::assertFalse);
+	}
+	
+	public void testBitmapAlgebra() {
+		final int evens[] = new int[80_000];
+		final int small[] = new int[] {-2, 3, 4, 100_000, 200_001, -100_000};
+		for (int i = 0; i < evens.length; i ++) {
+			evens[i] = i * 4 - 100_000;
+		}
+		final Set<Integer> a = Set.bitmap(evens);
+		final Set<Integer> b = Set.bitmap(small);
+		Assert.assertEquals(3, Set.intersection(a, b).size());
+		Assert.assertEquals(80_003, Set.union(a, b).size());
+		Assert.assertEquals(79_997, Set.difference(a, b).size());
+		Assert.assertEquals(80_000, Set.symmetricDifference(a, b).size());
+		Set.intersection(a, b).contains(100_000, Assert::assertTrue);
+		Set.difference(a, b).contains(4, Assert::assertFalse);
+		Set.symmetricDifference(a, b).contains(3, Assert::assertTrue);
+		Assert.assertTrue(Set.union(a, b) instanceof Set.Bitmap);
+	}
+	
+	public void testParallelAlgebra() {
+		final Integer left[] = new Integer[40_000];
+		final Integer right[] = new Integer[40_000];
+		final int ints[] = new int[40_000];
+		for (int i = 0; i < left.length; i ++) {
+			left[i] = i;
+			right[i] = i + 30_000;
+			ints[i] = i * 3;
+		}
+		final ExecutorService es = Executors.newFixedThreadPool(4);
+		Assert.assertEquals(10_000, Set.intersection(Set.of(left), Set.of(right), es).size());
+		Assert.assertEquals(30_000, Set.difference(Set.of(left), Set.of(right), es).size());
+		Assert.assertEquals(60_000, Set.symmetricDifference(Set.of(left), Set.of(right), es).size());
+		Assert.assertEquals(70_000, Set.union(Set.of(left), Set.of(right), es).size());
+		Assert.assertEquals(13_334, Set.intersection(Set.bitmap(ints), Set.of(left), es).size());
+		Assert.assertEquals(40_000, Set.union(Set.bitmap(ints), Set.bitmap(ints), es).size());
+		final int spread[] = new int[40_000];
+		for (int i = 0; i < spread.length; i ++) {
+			spread[i] = i * 17;
+		}
+		Assert.assertEquals(Set.intersection(Set.bitmap(spread), Set.bitmap(ints)).size(),
+				Set.intersection(Set.bitmap(spread), Set.bitmap(ints), es).size());
+		Assert.assertEquals(77_647, Set.union(Set.bitmap(spread), Set.bitmap(ints), es).size());
+		es.shutdown();
+	}
+	
+	public void testGuardedSet() {
+		final Set.Hashed<String> set = Set.guarded(0.01, "Chennai", "Bangalore", "Dubai");
+		set.contains("Dubai", Assert::assertTrue);
+		set.contains("Delhi", Assert::assertFalse);
+		Assert.assertEquals(3, set.size());
+		Assert.assertTrue(set.falsePositiveRate() > 0 && set.falsePositiveRate() <= 0.01);
+		Assert.assertEquals(0.0, ((Set.Hashed<String>) Set.of("a")).falsePositiveRate(), 0.0);
+	}
 }